@@ -0,0 +1,112 @@
+package net.luis.data;
+
+import net.luis.data.json.JsonArray;
+import net.luis.data.json.JsonObject;
+import net.luis.data.properties.Properties;
+import net.luis.data.properties.Property;
+import net.luis.data.properties.PropertyBoolean;
+import net.luis.data.properties.PropertyNumber;
+import net.luis.data.properties.PropertyString;
+import net.luis.data.properties.ObjectProperty;
+import net.luis.data.xml.XmlElement;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Generates the payloads which are used by the benchmarks
+ */
+
+public class BenchmarkPayloads {
+	
+	public static JsonObject json(PayloadSize size, int depth) {
+		JsonObject root = new JsonObject();
+		for (int i = 0; i < size.elements(); i++) {
+			JsonObject object = jsonLeaf(i);
+			for (int level = depth - 1; level > 0; level--) {
+				JsonObject parent = jsonLeaf(i + level);
+				parent.add("child", object);
+				object = parent;
+			}
+			root.add("element" + i, object);
+		}
+		return root;
+	}
+	
+	private static JsonObject jsonLeaf(int seed) {
+		JsonObject object = new JsonObject();
+		object.add("id", seed);
+		object.add("name", "name of element " + seed);
+		object.add("enabled", seed % 2 == 0);
+		object.add("ratio", seed / 7.0);
+		JsonArray values = new JsonArray();
+		for (int i = 0; i < 4; i++) {
+			values.add(seed * 31 + i);
+		}
+		object.add("values", values);
+		return object;
+	}
+	
+	public static XmlElement xml(PayloadSize size, int depth) {
+		XmlElement root = new XmlElement("root");
+		for (int i = 0; i < size.elements(); i++) {
+			XmlElement element = xmlLeaf(i);
+			for (int level = depth - 1; level > 0; level--) {
+				XmlElement parent = xmlLeaf(i + level);
+				parent.addElement(element);
+				element = parent;
+			}
+			root.addElement(element);
+		}
+		return root;
+	}
+	
+	private static XmlElement xmlLeaf(int seed) {
+		XmlElement element = new XmlElement("element");
+		element.addAttribute("id", seed);
+		element.addAttribute("enabled", seed % 2 == 0);
+		element.addElement("name", "name of element " + seed);
+		element.addElement("ratio", String.valueOf(seed / 7.0));
+		return element;
+	}
+	
+	public static Properties properties(PayloadSize size, int depth) {
+		Properties properties = new Properties();
+		for (int i = 0; i < size.elements(); i++) {
+			Property property = switch (i % 3) {
+				case 0 -> new PropertyString("key" + i, "value of key " + i);
+				case 1 -> new PropertyNumber("key" + i, i / 7.0);
+				default -> new PropertyBoolean("key" + i, i % 2 == 0);
+			};
+			for (int level = depth - 1; level > 0; level--) {
+				property = new ObjectProperty("group" + (i + level) % 16, property);
+			}
+			properties.add(property);
+		}
+		return properties;
+	}
+	
+	public static File createTempFile(String extension) {
+		try {
+			File file = Files.createTempFile("benchmark", "." + extension).toFile();
+			file.deleteOnExit();
+			return file;
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to create temporary benchmark file", e);
+		}
+	}
+	
+	public enum PayloadSize {
+		SMALL(16), MEDIUM(1024), LARGE(16384);
+		
+		private final int elements;
+		
+		PayloadSize(int elements) {
+			this.elements = elements;
+		}
+		
+		public int elements() {
+			return this.elements;
+		}
+	}
+}
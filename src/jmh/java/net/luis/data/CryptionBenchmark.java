@@ -0,0 +1,57 @@
+package net.luis.data;
+
+import net.luis.data.cryption.Cryption;
+import net.luis.data.cryption.CryptionEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the reusable cryption engine compared to the per call setup of cryption
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptionBenchmark {
+	
+	@Param({"16", "1024", "65536"})
+	private int length;
+	private CryptionEngine engine;
+	private byte[] input;
+	private byte[] encrypted;
+	private byte[] engineEncrypted;
+	
+	@Setup
+	public void setup() {
+		this.engine = CryptionEngine.create();
+		this.input = new byte[this.length];
+		new Random(42).nextBytes(this.input);
+		this.encrypted = Cryption.getEncrypter().encrypt(this.input);
+		this.engineEncrypted = this.engine.encrypt(this.input);
+	}
+	
+	@Benchmark
+	public byte[] encrypt() {
+		return Cryption.getEncrypter().encrypt(this.input);
+	}
+	
+	@Benchmark
+	public byte[] decrypt() {
+		return Cryption.getDecrypter().decrypt(this.encrypted);
+	}
+	
+	@Benchmark
+	public byte[] encryptEngine() {
+		return this.engine.encrypt(this.input);
+	}
+	
+	@Benchmark
+	public byte[] decryptEngine() {
+		return this.engine.decrypt(this.engineEncrypted);
+	}
+}
@@ -0,0 +1,79 @@
+package net.luis.data;
+
+import com.google.common.collect.Lists;
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonArray;
+import net.luis.data.json.JsonNumber;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for packed numeric json arrays compared to a list of json numbers
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonArrayBenchmark {
+	
+	@Param({"1000", "100000", "1000000"})
+	private int count;
+	private JsonArray packed;
+	private List<Json> list;
+	
+	@Setup
+	public void setup() {
+		this.packed = this.buildPacked();
+		this.list = this.buildList();
+	}
+	
+	@Benchmark
+	public JsonArray buildPacked() {
+		JsonArray array = new JsonArray();
+		for (int i = 0; i < this.count; i++) {
+			array.add(new JsonNumber(i));
+		}
+		return array;
+	}
+	
+	@Benchmark
+	public List<Json> buildList() {
+		List<Json> list = Lists.newArrayList();
+		for (int i = 0; i < this.count; i++) {
+			list.add(new JsonNumber(i));
+		}
+		return list;
+	}
+	
+	@Benchmark
+	public long sumPacked() {
+		long sum = 0;
+		for (int i = 0; i < this.packed.size(); i++) {
+			sum += this.packed.getAsLong(i);
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long sumPackedBulk() {
+		long sum = 0;
+		for (long value : this.packed.toLongArray()) {
+			sum += value;
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public long sumList() {
+		long sum = 0;
+		for (Json json : this.list) {
+			sum += json.getAsLong();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,67 @@
+package net.luis.data;
+
+import net.luis.data.BenchmarkPayloads.PayloadSize;
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonObject;
+import net.luis.data.json.binary.JsonBinaryDecoder;
+import net.luis.data.json.binary.JsonBinaryEncoder;
+import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.io.JsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and writing json
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+	
+	private static final JsonConfig COMPACT = JsonConfig.builder().prettyPrint(false).build();
+	
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	private PayloadSize size;
+	@Param({"1", "4", "8"})
+	private int depth;
+	private JsonObject object;
+	private String json;
+	private byte[] binary;
+	
+	@Setup
+	public void setup() {
+		this.object = BenchmarkPayloads.json(this.size, this.depth);
+		this.json = this.object.toString(JsonConfig.DEFAULT);
+		this.binary = JsonBinaryEncoder.encode(this.object);
+	}
+	
+	@Benchmark
+	public Json read() {
+		return new JsonReader(this.json).toJson();
+	}
+	
+	@Benchmark
+	public String writePretty() {
+		return this.object.toString(JsonConfig.DEFAULT);
+	}
+	
+	@Benchmark
+	public String writeCompact() {
+		return this.object.toString(COMPACT);
+	}
+	
+	@Benchmark
+	public Json readBinary() {
+		return JsonBinaryDecoder.decode(this.binary);
+	}
+	
+	@Benchmark
+	public byte[] writeBinary() {
+		return JsonBinaryEncoder.encode(this.object);
+	}
+}
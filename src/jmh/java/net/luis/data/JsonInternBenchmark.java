@@ -0,0 +1,80 @@
+package net.luis.data;
+
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonArray;
+import net.luis.data.json.JsonObject;
+import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.io.JsonInterner;
+import net.luis.data.json.io.JsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks for reading log-style json with and without interning, the retained heap of both is printed during the setup
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonInternBenchmark {
+	
+	private static final JsonConfig COMPACT = JsonConfig.builder().prettyPrint(false).build();
+	private static final String[] LEVELS = { "DEBUG", "INFO", "WARN", "ERROR" };
+	private static final String[] SERVICES = { "auth", "billing", "gateway", "search", "storage" };
+	
+	@Param({"1000", "100000"})
+	private int count;
+	private String json;
+	private JsonInterner interner;
+	
+	@Setup
+	public void setup() {
+		JsonArray array = new JsonArray();
+		for (int i = 0; i < this.count; i++) {
+			JsonObject entry = new JsonObject("timestamp", 1700000000000L + i);
+			entry.add("level", LEVELS[i % LEVELS.length]);
+			entry.add("service", SERVICES[i % SERVICES.length]);
+			entry.add("message", "request " + i + " handled");
+			entry.add("status", i % 10 == 0 ? 500 : 200);
+			entry.add("success", i % 10 != 0);
+			array.add(entry);
+		}
+		this.json = array.toString(COMPACT);
+		this.interner = new JsonInterner();
+		System.out.println();
+		System.out.println("Retained heap without interning: " + retained(() -> new JsonReader(this.json).toJson()) + " bytes");
+		System.out.println("Retained heap with interning: " + retained(() -> new JsonReader(this.json, new JsonInterner()).toJson()) + " bytes");
+	}
+	
+	@Benchmark
+	public Json read() {
+		return new JsonReader(this.json).toJson();
+	}
+	
+	@Benchmark
+	public Json readInterned() {
+		return new JsonReader(this.json, this.interner).toJson();
+	}
+	
+	private static long retained(Supplier<Json> parser) {
+		long before = usedMemory();
+		Json json = parser.get();
+		long after = usedMemory();
+		Reference.reachabilityFence(json);
+		return after - before;
+	}
+	
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
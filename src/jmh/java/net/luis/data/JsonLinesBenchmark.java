@@ -0,0 +1,82 @@
+package net.luis.data;
+
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonObject;
+import net.luis.data.json.io.JsonLinesReader;
+import net.luis.data.json.io.JsonLinesWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks for reading and writing json lines compared to parsing and writing each line on its own
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLinesBenchmark {
+	
+	@Param({"1000", "100000"})
+	private int count;
+	private List<Json> records;
+	private String lines;
+	
+	@Setup
+	public void setup() {
+		this.records = IntStream.range(0, this.count).mapToObj(i -> {
+			JsonObject record = new JsonObject("id", i);
+			record.add("level", i % 10 == 0 ? "WARN" : "INFO");
+			record.add("message", "request " + i + " handled");
+			return (Json) record;
+		}).toList();
+		StringWriter writer = new StringWriter();
+		try (JsonLinesWriter lines = new JsonLinesWriter(writer)) {
+			lines.writeAll(this.records, false);
+		}
+		this.lines = writer.toString();
+	}
+	
+	@Benchmark
+	public long readLines() {
+		try (JsonLinesReader reader = new JsonLinesReader(new StringReader(this.lines))) {
+			return reader.stream().count();
+		}
+	}
+	
+	@Benchmark
+	public long readSplit() {
+		long count = 0;
+		for (String line : this.lines.split("\n")) {
+			if (Json.parse(line) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	@Benchmark
+	public String writeLines() {
+		StringWriter writer = new StringWriter();
+		try (JsonLinesWriter lines = new JsonLinesWriter(writer)) {
+			lines.writeAll(this.records, false);
+		}
+		return writer.toString();
+	}
+	
+	@Benchmark
+	public String writeLinesParallel() {
+		StringWriter writer = new StringWriter();
+		try (JsonLinesWriter lines = new JsonLinesWriter(writer)) {
+			lines.writeAll(this.records, true);
+		}
+		return writer.toString();
+	}
+}
@@ -0,0 +1,95 @@
+package net.luis.data;
+
+import net.luis.data.json.JsonArray;
+import net.luis.data.json.JsonObject;
+import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.io.JsonReader;
+import net.luis.data.json.io.JsonSerializable;
+import net.luis.data.json.mapping.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks for the json mapper compared to serializing through an intermediate json tree
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonMapperBenchmark {
+	
+	private static final JsonConfig COMPACT = JsonConfig.builder().prettyPrint(false).build();
+	
+	@Param({"10", "1000"})
+	private int count;
+	private JsonMapper mapper;
+	private Order order;
+	private String json;
+	
+	@Setup
+	public void setup() {
+		this.mapper = new JsonMapper();
+		this.order = new Order("order", IntStream.range(0, this.count).mapToObj(i -> new Item("item" + i, i, i * 0.5, i % 2 == 0)).toList());
+		this.json = this.mapper.toJson(this.order, COMPACT);
+	}
+	
+	@Benchmark
+	public String writeMapper() {
+		return this.mapper.toJson(this.order, COMPACT);
+	}
+	
+	@Benchmark
+	public String writeTree() {
+		return this.order.toJson().toString(COMPACT);
+	}
+	
+	@Benchmark
+	public Order readMapper() {
+		return this.mapper.fromJson(this.json, Order.class);
+	}
+	
+	@Benchmark
+	public Order readTree() {
+		return Order.fromJson(new JsonReader(this.json).toJson().getAsObject());
+	}
+	
+	public record Order(String name, List<Item> items) implements JsonSerializable<JsonObject> {
+		
+		private static Order fromJson(JsonObject object) {
+			JsonArray array = object.getAsArray("items");
+			List<Item> items = IntStream.range(0, array.size()).mapToObj(i -> Item.fromJson(array.getAsObject(i))).toList();
+			return new Order(object.getAsString("name"), items);
+		}
+		
+		@Override
+		public JsonObject toJson() {
+			JsonObject object = new JsonObject("name", this.name);
+			JsonArray array = new JsonArray();
+			this.items.forEach(item -> array.add(item.toJson()));
+			object.add("items", array);
+			return object;
+		}
+	}
+	
+	public record Item(String name, long id, double price, boolean available) implements JsonSerializable<JsonObject> {
+		
+		private static Item fromJson(JsonObject object) {
+			return new Item(object.getAsString("name"), object.getAsLong("id"), object.getAsDouble("price"), object.getAsBoolean("available"));
+		}
+		
+		@Override
+		public JsonObject toJson() {
+			JsonObject object = new JsonObject("name", this.name);
+			object.add("id", this.id);
+			object.add("price", this.price);
+			object.add("available", this.available);
+			return object;
+		}
+	}
+}
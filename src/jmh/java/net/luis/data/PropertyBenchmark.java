@@ -0,0 +1,52 @@
+package net.luis.data;
+
+import net.luis.data.BenchmarkPayloads.PayloadSize;
+import net.luis.data.internal.io.FileHelper;
+import net.luis.data.properties.Properties;
+import net.luis.data.properties.io.PropertyReader;
+import net.luis.data.properties.io.PropertyWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and writing properties
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyBenchmark {
+	
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	private PayloadSize size;
+	@Param({"1", "4", "8"})
+	private int depth;
+	private Properties properties;
+	private String content;
+	private File file;
+	
+	@Setup
+	public void setup() {
+		this.properties = BenchmarkPayloads.properties(this.size, this.depth);
+		this.file = BenchmarkPayloads.createTempFile("properties");
+		this.properties.write(this.file);
+		this.content = FileHelper.read(this.file);
+	}
+	
+	@Benchmark
+	public Properties read() {
+		return new PropertyReader(this.content, '=').toProperties();
+	}
+	
+	@Benchmark
+	public void write() {
+		PropertyWriter writer = new PropertyWriter(this.file);
+		this.properties.write(writer);
+		writer.flushAndClose();
+	}
+}
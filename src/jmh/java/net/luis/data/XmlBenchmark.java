@@ -0,0 +1,57 @@
+package net.luis.data;
+
+import net.luis.data.BenchmarkPayloads.PayloadSize;
+import net.luis.data.xml.XmlElement;
+import net.luis.data.xml.config.XmlConfig;
+import net.luis.data.xml.io.XmlReader;
+import net.luis.data.xml.io.XmlWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and writing xml
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlBenchmark {
+	
+	private static final XmlConfig COMPACT = XmlConfig.builder().prettyPrint(false).build();
+	
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	private PayloadSize size;
+	@Param({"1", "4", "8"})
+	private int depth;
+	private XmlElement element;
+	private File file;
+	
+	@Setup
+	public void setup() {
+		this.element = BenchmarkPayloads.xml(this.size, this.depth);
+		this.file = BenchmarkPayloads.createTempFile("xml");
+		XmlWriter writer = new XmlWriter(this.file);
+		writer.write(this.element);
+		writer.flushAndClose();
+	}
+	
+	@Benchmark
+	public XmlElement read() {
+		return new XmlReader(this.file).toXml();
+	}
+	
+	@Benchmark
+	public String writePretty() {
+		return this.element.toString(XmlConfig.DEFAULT);
+	}
+	
+	@Benchmark
+	public String writeCompact() {
+		return this.element.toString(COMPACT);
+	}
+}
@@ -12,7 +12,10 @@ import java.util.Base64;
 import java.util.Objects;
 
 /**
- * Cryption helper class
+ * Cryption helper class.<br>
+ * Every call generates a new key, use a {@link CryptionEngine} to encrypt many values with the same key
+ *
+ * @see CryptionEngine
  *
  * @author Luis-St
  */
@@ -0,0 +1,191 @@
+package net.luis.data.cryption;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * A reusable engine which encrypts and decrypts data with a configured AES key.<br>
+ * The data is encrypted with AES-GCM, every encryption uses a new random iv which is prepended to the encrypted data,
+ * so the encrypted data is authenticated and tampered data is rejected when it is decrypted.<br>
+ * The engine is thread-safe, each thread uses its own cached {@link Cipher} instance
+ * instead of looking up the provider and generating a key for every call like {@link Cryption}
+ *
+ * @see Cryption
+ *
+ * @author Luis-St
+ */
+
+public final class CryptionEngine {
+	
+	static final String TRANSFORMATION = "AES/GCM/NoPadding";
+	static final int IV_LENGTH = 12;
+	static final int TAG_LENGTH = 16;
+	private static final SecureRandom RANDOM = new SecureRandom();
+	
+	private final SecretKey key;
+	private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(CryptionEngine::createCipher);
+	
+	/**
+	 * Constructs a new {@link CryptionEngine} with the given AES key
+	 * @param key The AES key to use
+	 * @throws NullPointerException If the key is null
+	 * @throws IllegalArgumentException If the key is not an AES key of 128, 192 or 256 bits
+	 */
+	public CryptionEngine(SecretKey key) {
+		Objects.requireNonNull(key, "Key must not be null");
+		//region Validation
+		if (!"AES".equalsIgnoreCase(key.getAlgorithm())) {
+			throw new IllegalArgumentException("Key must be an AES key but was " + key.getAlgorithm());
+		}
+		byte[] encoded = key.getEncoded();
+		if (encoded == null || (encoded.length != 16 && encoded.length != 24 && encoded.length != 32)) {
+			throw new IllegalArgumentException("Key must have a length of 128, 192 or 256 bits");
+		}
+		//endregion
+		this.key = key;
+	}
+	
+	/**
+	 * Constructs a new {@link CryptionEngine} with the given encoded AES key
+	 * @param key The encoded AES key to use
+	 * @throws NullPointerException If the key is null
+	 * @throws IllegalArgumentException If the key does not have a length of 128, 192 or 256 bits
+	 */
+	public CryptionEngine(byte[] key) {
+		this(new SecretKeySpec(Objects.requireNonNull(key, "Key must not be null"), "AES"));
+	}
+	
+	/**
+	 * Creates a new {@link CryptionEngine} with a new random 256 bit AES key
+	 * @return The created engine
+	 * @throws RuntimeException If the key could not be generated
+	 */
+	public static @NotNull CryptionEngine create() {
+		try {
+			KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+			keyGenerator.init(256, RANDOM);
+			return new CryptionEngine(keyGenerator.generateKey());
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to generate key", e);
+		}
+	}
+	
+	/**
+	 * @return A copy of the encoded AES key of this engine
+	 */
+	public byte[] getKey() {
+		return this.key.getEncoded();
+	}
+	
+	//region Encryption
+	
+	/**
+	 * Encrypts the given string into a base64 encoded string
+	 * @param input The string to encrypt
+	 * @return The encrypted string
+	 * @throws NullPointerException If the given string is null
+	 * @throws RuntimeException If an error occurs while encrypting
+	 */
+	public @NotNull String encryptString(String input) {
+		byte[] bytes = Objects.requireNonNull(input, "Input must not be null").getBytes(StandardCharsets.UTF_8);
+		return Base64.getEncoder().encodeToString(this.encrypt(bytes));
+	}
+	
+	/**
+	 * Encrypts the given byte array
+	 * @param input The byte array to encrypt
+	 * @return The iv followed by the encrypted byte array and the authentication tag
+	 * @throws NullPointerException If the given byte array is null
+	 * @throws RuntimeException If an error occurs while encrypting
+	 */
+	public byte[] encrypt(byte[] input) {
+		byte[] data = Objects.requireNonNull(input, "Input must not be null");
+		byte[] iv = createIv();
+		try {
+			Cipher cipher = this.cipher(Cipher.ENCRYPT_MODE, iv);
+			byte[] output = Arrays.copyOf(iv, IV_LENGTH + cipher.getOutputSize(data.length));
+			cipher.doFinal(data, 0, data.length, output, IV_LENGTH);
+			return output;
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to encrypt", e);
+		}
+	}
+	//endregion
+	
+	//region Decryption
+	
+	/**
+	 * Decrypts the given base64 encoded string
+	 * @param input The string to decrypt
+	 * @return The decrypted string
+	 * @throws NullPointerException If the given string is null
+	 * @throws RuntimeException If an error occurs while decrypting or the data was tampered with
+	 */
+	public @NotNull String decryptString(String input) {
+		byte[] bytes = Base64.getDecoder().decode(Objects.requireNonNull(input, "Input must not be null"));
+		return new String(this.decrypt(bytes), StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Decrypts the given byte array
+	 * @param input The iv followed by the encrypted byte array and the authentication tag
+	 * @return The decrypted byte array
+	 * @throws NullPointerException If the given byte array is null
+	 * @throws IllegalArgumentException If the given byte array is shorter than the iv and the authentication tag
+	 * @throws RuntimeException If an error occurs while decrypting or the data was tampered with
+	 */
+	public byte[] decrypt(byte[] input) {
+		Objects.requireNonNull(input, "Input must not be null");
+		//region Validation
+		if (IV_LENGTH + TAG_LENGTH > input.length) {
+			throw new IllegalArgumentException("Input is too short to be encrypted data");
+		}
+		//endregion
+		try {
+			Cipher cipher = this.cipher(Cipher.DECRYPT_MODE, Arrays.copyOf(input, IV_LENGTH));
+			return cipher.doFinal(input, IV_LENGTH, input.length - IV_LENGTH);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to decrypt", e);
+		}
+	}
+	//endregion
+	
+	//region Helper methods
+	static byte[] createIv() {
+		byte[] iv = new byte[IV_LENGTH];
+		RANDOM.nextBytes(iv);
+		return iv;
+	}
+	
+	private static @NotNull Cipher createCipher() {
+		try {
+			return Cipher.getInstance(TRANSFORMATION);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to create cipher " + TRANSFORMATION, e);
+		}
+	}
+	
+	/**
+	 * Initializes the cipher of the current thread
+	 * @param mode The mode of the cipher
+	 * @param iv The iv to use
+	 * @return The initialized cipher of the current thread
+	 * @throws Exception If the cipher could not be initialized
+	 */
+	@NotNull Cipher cipher(int mode, byte[] iv) throws Exception {
+		Cipher cipher = this.ciphers.get();
+		cipher.init(mode, this.key, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+		return cipher;
+	}
+	//endregion
+}
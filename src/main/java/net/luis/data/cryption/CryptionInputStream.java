@@ -0,0 +1,132 @@
+package net.luis.data.cryption;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Cipher;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An input stream which decrypts data written by a {@link CryptionOutputStream} one chunk at a time.<br>
+ * Every chunk is authenticated before its data is returned,
+ * an {@link IOException} is thrown if a chunk was tampered with or the stream was truncated
+ *
+ * @see CryptionEngine
+ * @see CryptionOutputStream
+ *
+ * @author Luis-St
+ */
+
+public class CryptionInputStream extends InputStream {
+	
+	static final byte[] NOT_FINAL = { 0 };
+	static final byte[] FINAL = { 1 };
+	
+	private final InputStream stream;
+	private final CryptionEngine engine;
+	private byte[] prefix;
+	private byte[] input;
+	private byte[] buffer;
+	private int position;
+	private int limit;
+	private int index;
+	private boolean finished;
+	
+	/**
+	 * Constructs a new {@link CryptionInputStream}
+	 * @param stream The stream to read the encrypted data from
+	 * @param engine The engine which provides the key
+	 * @throws NullPointerException If the stream or the engine is null
+	 */
+	public CryptionInputStream(InputStream stream, CryptionEngine engine) {
+		this.stream = Objects.requireNonNull(stream, "Stream must not be null");
+		this.engine = Objects.requireNonNull(engine, "Engine must not be null");
+	}
+	
+	@Override
+	public int read() throws IOException {
+		if (this.position == this.limit && !this.readChunk()) {
+			return -1;
+		}
+		return this.buffer[this.position++] & 0xFF;
+	}
+	
+	@Override
+	public int read(byte @NotNull [] bytes, int offset, int length) throws IOException {
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		if (length == 0) {
+			return 0;
+		}
+		int read = 0;
+		while (length > read) {
+			if (this.position == this.limit && !this.readChunk()) {
+				break;
+			}
+			int count = Math.min(length - read, this.limit - this.position);
+			System.arraycopy(this.buffer, this.position, bytes, offset + read, count);
+			this.position += count;
+			read += count;
+		}
+		return read == 0 ? -1 : read;
+	}
+	
+	@Override
+	public int available() {
+		return this.limit - this.position;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.finished = true;
+		this.position = this.limit;
+		this.stream.close();
+	}
+	
+	//region Helper methods
+	private void readHeader() throws IOException {
+		byte[] header = this.stream.readNBytes(CryptionOutputStream.HEADER_LENGTH);
+		if (header.length != CryptionOutputStream.HEADER_LENGTH) {
+			throw new IOException("Encrypted stream is truncated, the header is incomplete");
+		}
+		int chunkSize = (header[8] & 0xFF) << 24 | (header[9] & 0xFF) << 16 | (header[10] & 0xFF) << 8 | header[11] & 0xFF;
+		if (0 >= chunkSize || chunkSize > CryptionOutputStream.MAX_CHUNK_SIZE) {
+			throw new IOException("Encrypted stream has an invalid chunk size of " + chunkSize);
+		}
+		this.prefix = Arrays.copyOf(header, CryptionOutputStream.PREFIX_LENGTH);
+		this.input = new byte[chunkSize + CryptionEngine.TAG_LENGTH];
+		this.buffer = new byte[chunkSize];
+	}
+	
+	private boolean readChunk() throws IOException {
+		if (this.finished) {
+			return false;
+		}
+		if (this.prefix == null) {
+			this.readHeader();
+		}
+		int length = this.stream.readNBytes(this.input, 0, this.input.length);
+		boolean last = this.input.length > length;
+		if (CryptionEngine.TAG_LENGTH > length) {
+			throw new IOException("Encrypted stream is truncated after chunk " + this.index);
+		}
+		try {
+			Cipher cipher = this.engine.cipher(Cipher.DECRYPT_MODE, CryptionOutputStream.createIv(this.prefix, this.index));
+			cipher.updateAAD(last ? FINAL : NOT_FINAL);
+			this.limit = cipher.doFinal(this.input, 0, length, this.buffer, 0);
+		} catch (Exception e) {
+			throw new IOException("Failed to decrypt chunk " + this.index + ", the stream was tampered with or is truncated", e);
+		}
+		this.position = 0;
+		this.index++;
+		if (last) {
+			this.finished = true;
+			if (this.stream.read() != -1) {
+				throw new IOException("Encrypted stream contains data after the final chunk");
+			}
+		}
+		return this.limit > 0;
+	}
+	//endregion
+}
@@ -0,0 +1,176 @@
+package net.luis.data.cryption;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Cipher;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An output stream which encrypts the written data in chunks with the key of a {@link CryptionEngine}.<br>
+ * The stream starts with a header which contains a random nonce prefix and the chunk size,
+ * followed by the chunks which are each encrypted and authenticated with AES-GCM.<br>
+ * The iv of a chunk is the nonce prefix followed by the index of the chunk, the last chunk is marked as final in its authenticated data
+ * and is always shorter than a full chunk, so truncated, reordered or tampered streams are rejected by the {@link CryptionInputStream}.<br>
+ * Only one chunk is buffered at a time, so the memory used by the stream does not depend on the size of the data
+ *
+ * @see CryptionEngine
+ * @see CryptionInputStream
+ *
+ * @author Luis-St
+ */
+
+public class CryptionOutputStream extends FilterOutputStream {
+	
+	/**
+	 * The default size of the plain data of a chunk
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+	static final int PREFIX_LENGTH = 8;
+	static final int HEADER_LENGTH = PREFIX_LENGTH + 4;
+	static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+	
+	private final CryptionEngine engine;
+	private final byte[] prefix;
+	private final byte[] buffer;
+	private final byte[] output;
+	private int position;
+	private int index;
+	private boolean started;
+	private boolean closed;
+	
+	/**
+	 * Constructs a new {@link CryptionOutputStream} with the {@link #DEFAULT_CHUNK_SIZE default chunk size}
+	 * @param stream The stream to write the encrypted data to
+	 * @param engine The engine which provides the key
+	 * @throws NullPointerException If the stream or the engine is null
+	 */
+	public CryptionOutputStream(OutputStream stream, CryptionEngine engine) {
+		this(stream, engine, DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@link CryptionOutputStream} with the given chunk size
+	 * @param stream The stream to write the encrypted data to
+	 * @param engine The engine which provides the key
+	 * @param chunkSize The size of the plain data of a chunk
+	 * @throws NullPointerException If the stream or the engine is null
+	 * @throws IllegalArgumentException If the chunk size is not positive or larger than 16 MiB
+	 */
+	public CryptionOutputStream(OutputStream stream, CryptionEngine engine, int chunkSize) {
+		super(Objects.requireNonNull(stream, "Stream must not be null"));
+		this.engine = Objects.requireNonNull(engine, "Engine must not be null");
+		//region Validation
+		if (0 >= chunkSize || chunkSize > MAX_CHUNK_SIZE) {
+			throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE + " but was " + chunkSize);
+		}
+		//endregion
+		this.prefix = Arrays.copyOf(CryptionEngine.createIv(), PREFIX_LENGTH);
+		this.buffer = new byte[chunkSize];
+		this.output = new byte[chunkSize + CryptionEngine.TAG_LENGTH];
+	}
+	
+	@Override
+	public void write(int b) throws IOException {
+		this.ensureOpen();
+		if (this.position == this.buffer.length) {
+			this.writeChunk(false);
+		}
+		this.buffer[this.position++] = (byte) b;
+	}
+	
+	@Override
+	public void write(byte @NotNull [] bytes, int offset, int length) throws IOException {
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		this.ensureOpen();
+		while (length > 0) {
+			if (this.position == this.buffer.length) {
+				this.writeChunk(false);
+			}
+			int count = Math.min(length, this.buffer.length - this.position);
+			System.arraycopy(bytes, offset, this.buffer, this.position, count);
+			this.position += count;
+			offset += count;
+			length -= count;
+		}
+	}
+	
+	/**
+	 * Flushes the underlying stream.<br>
+	 * The currently buffered data is not written, since a chunk can only be encrypted once it is complete
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		this.out.flush();
+	}
+	
+	/**
+	 * Writes the final chunk and closes the underlying stream
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		try {
+			if (this.position == this.buffer.length) {
+				this.writeChunk(false);
+			}
+			this.writeChunk(true);
+			this.out.flush();
+		} finally {
+			this.out.close();
+		}
+	}
+	
+	//region Helper methods
+	private void ensureOpen() throws IOException {
+		if (this.closed) {
+			throw new IOException("Stream is closed");
+		}
+	}
+	
+	private void writeChunk(boolean last) throws IOException {
+		if (!this.started) {
+			this.out.write(this.prefix);
+			writeInt(this.out, this.buffer.length);
+			this.started = true;
+		}
+		int length;
+		try {
+			Cipher cipher = this.engine.cipher(Cipher.ENCRYPT_MODE, createIv(this.prefix, this.index));
+			cipher.updateAAD(last ? CryptionInputStream.FINAL : CryptionInputStream.NOT_FINAL);
+			length = cipher.doFinal(this.buffer, 0, this.position, this.output, 0);
+		} catch (Exception e) {
+			throw new IOException("Failed to encrypt chunk " + this.index, e);
+		}
+		this.out.write(this.output, 0, length);
+		this.position = 0;
+		if (++this.index == 0) {
+			throw new IOException("Encrypted stream exceeds the maximum number of chunks");
+		}
+	}
+	
+	static byte[] createIv(byte[] prefix, int index) {
+		byte[] iv = Arrays.copyOf(prefix, CryptionEngine.IV_LENGTH);
+		iv[PREFIX_LENGTH] = (byte) (index >>> 24);
+		iv[PREFIX_LENGTH + 1] = (byte) (index >>> 16);
+		iv[PREFIX_LENGTH + 2] = (byte) (index >>> 8);
+		iv[PREFIX_LENGTH + 3] = (byte) index;
+		return iv;
+	}
+	
+	private static void writeInt(OutputStream stream, int value) throws IOException {
+		stream.write(value >>> 24);
+		stream.write(value >>> 16);
+		stream.write(value >>> 8);
+		stream.write(value);
+	}
+	//endregion
+}
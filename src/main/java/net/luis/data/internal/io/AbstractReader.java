@@ -1,19 +1,21 @@
 package net.luis.data.internal.io;
 
 import net.luis.utils.util.LazyLoad;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.util.Objects;
 
 /**
- * An abstract implementation of {@link Reader} that loads the value lazily
+ * An abstract implementation of {@link Reader} that loads the value lazily.<br>
+ * The value can be any {@link CharSequence}, e.g. the characters of a {@link MappedInput}, so it does not have to be copied into a string
  *
  * @author Luis-St
  */
 
 public abstract class AbstractReader<T> implements Reader<T> {
 	
-	private final LazyLoad<String> lazyValue;
+	private final LazyLoad<CharSequence> lazyValue;
 	private final LazyLoad<Integer> lazyLength;
 	protected int index;
 	
@@ -21,7 +23,7 @@ public abstract class AbstractReader<T> implements Reader<T> {
 		this(FileHelper.read(file));
 	}
 	
-	protected AbstractReader(String value) {
+	protected AbstractReader(CharSequence value) {
 		this.lazyValue = new LazyLoad<>(() -> {
 			this.validate(value);
 			return this.modify(value);
@@ -33,7 +35,7 @@ public abstract class AbstractReader<T> implements Reader<T> {
 	 * Validates the given value
 	 * @param value The value to validate
 	 */
-	protected void validate(String value) {
+	protected void validate(CharSequence value) {
 		Objects.requireNonNull(value, "Value must not be null");
 	}
 	
@@ -42,12 +44,12 @@ public abstract class AbstractReader<T> implements Reader<T> {
 	 * @param original The original value
 	 * @return The modified value
 	 */
-	protected abstract String modify(String original);
+	protected abstract CharSequence modify(CharSequence original);
 	
 	/**
 	 * @return The value loaded lazily
 	 */
-	protected final String value() {
+	protected final CharSequence value() {
 		return this.lazyValue.get();
 	}
 	
@@ -60,7 +62,7 @@ public abstract class AbstractReader<T> implements Reader<T> {
 	
 	@Override
 	public boolean hasNext() {
-		return this.index < this.length() && !this.value().isBlank();
+		return this.index < this.length() && !StringUtils.isBlank(this.value());
 	}
 	
 	/**
@@ -69,14 +71,14 @@ public abstract class AbstractReader<T> implements Reader<T> {
 	 * @return The substring
 	 */
 	protected String fromIndex(int index) {
-		return this.value().substring(this.index, index);
+		return this.value().subSequence(this.index, index).toString();
 	}
 	
 	/**
 	 * @return The remaining string from the current index
 	 */
 	protected String remaining() {
-		return this.value().substring(this.index);
+		return this.value().subSequence(this.index, this.length()).toString();
 	}
 	
 	//region IO operations
@@ -99,17 +101,17 @@ public abstract class AbstractReader<T> implements Reader<T> {
 		
 		if (this.length() != that.length()) return false;
 		if (this.index != that.index) return false;
-		return this.value().equals(that.value());
+		return StringUtils.equals(this.value(), that.value());
 	}
 	
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.value(), this.length(), this.index);
+		return Objects.hash(this.value().toString(), this.length(), this.index);
 	}
 	
 	@Override
 	public String toString() {
-		return this.value();
+		return this.value().toString();
 	}
 	//endregion
 }
@@ -1,15 +1,17 @@
 package net.luis.data.internal.io;
 
+import net.luis.data.cryption.CryptionEngine;
+import net.luis.data.cryption.CryptionOutputStream;
 import net.luis.data.internal.config.DataConfig;
 import org.apache.commons.io.FilenameUtils;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
+import java.io.*;
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 /**
- * An abstract implementation of {@link Writer}
+ * An abstract implementation of {@link Writer}.<br>
+ * If the writer is created with a {@link CryptionEngine}, the written data is encrypted chunk by chunk while it is written to the file
  *
  * @author Luis-St
  */
@@ -24,6 +26,10 @@ public abstract class AbstractWriter<T extends DataConfig> implements Writer {
 	}
 	
 	protected AbstractWriter(File file, T config) {
+		this(file, config, null);
+	}
+	
+	protected AbstractWriter(File file, T config, CryptionEngine engine) {
 		this.config = config;
 		//region Validation
 		Objects.requireNonNull(file, "File cannot be null");
@@ -39,9 +45,16 @@ public abstract class AbstractWriter<T extends DataConfig> implements Writer {
 		if (this.isExtensionNotAllowed(FilenameUtils.getExtension(file.getName())) && !config.allowCustomExtensions()) {
 			throw new IllegalArgumentException("File extension is not allowed in this configuration");
 		}
+		if (engine != null && config.allowAppend()) {
+			throw new IllegalArgumentException("Encrypted files cannot be appended to");
+		}
 		//endregion
 		try {
-			this.writer = new BufferedWriter(new FileWriter(file.getAbsoluteFile(), config.allowAppend()));
+			if (engine == null) {
+				this.writer = new BufferedWriter(new FileWriter(file.getAbsoluteFile(), config.allowAppend()));
+			} else {
+				this.writer = new BufferedWriter(new OutputStreamWriter(new CryptionOutputStream(new FileOutputStream(file.getAbsoluteFile()), engine), Charset.defaultCharset()));
+			}
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -0,0 +1,194 @@
+package net.luis.data.internal.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded and thread-safe cache of documents which were loaded from files.<br>
+ * A document is cached by the path of its file together with the last modification time and the size of the file,
+ * so a document is loaded again as soon as the file changes.<br>
+ * The least recently used documents are evicted if the cache exceeds its maximum number of entries or the total size of the cached files.<br>
+ * The cached documents are never returned directly, every call returns a copy which is created by the copier of the cache,
+ * so callers can modify the returned documents without affecting the cache.<br>
+ * Files are loaded outside of the lock of the cache, so concurrent misses of the same file may load the file more than once.<br>
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * DocumentCache<Json> cache = new DocumentCache<>(64, file -> new JsonReader(file).toJson(), Json::copy);
+ * Json config = cache.get(new File("config.json"));
+ * }</pre>
+ *
+ * @author Luis-St
+ */
+
+public final class DocumentCache<T> {
+	
+	private final int maxEntries;
+	private final long maxBytes;
+	private final Function<File, ? extends T> loader;
+	private final UnaryOperator<T> copier;
+	private final LinkedHashMap<Path, Entry<T>> entries = new LinkedHashMap<>(16, 0.75F, true);
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private long bytes;
+	
+	/**
+	 * Constructs a new {@link DocumentCache} which is only limited by the number of entries
+	 * @param maxEntries The maximum number of cached documents
+	 * @param loader The function which loads the document of a file
+	 * @param copier The function which copies a cached document, e.g. {@code Json::copy}
+	 * @throws NullPointerException If the loader or the copier is null
+	 * @throws IllegalArgumentException If the maximum number of entries is not positive
+	 */
+	public DocumentCache(int maxEntries, Function<File, ? extends T> loader, UnaryOperator<T> copier) {
+		this(maxEntries, Long.MAX_VALUE, loader, copier);
+	}
+	
+	/**
+	 * Constructs a new {@link DocumentCache} which is limited by the number of entries and the total size of the cached files
+	 * @param maxEntries The maximum number of cached documents
+	 * @param maxBytes The maximum total size of the cached files in bytes
+	 * @param loader The function which loads the document of a file
+	 * @param copier The function which copies a cached document, e.g. {@code Json::copy}
+	 * @throws NullPointerException If the loader or the copier is null
+	 * @throws IllegalArgumentException If the maximum number of entries or the maximum size is not positive
+	 */
+	public DocumentCache(int maxEntries, long maxBytes, Function<File, ? extends T> loader, UnaryOperator<T> copier) {
+		this.loader = Objects.requireNonNull(loader, "Loader must not be null");
+		this.copier = Objects.requireNonNull(copier, "Copier must not be null");
+		//region Validation
+		if (0 >= maxEntries) {
+			throw new IllegalArgumentException("Maximum number of entries must be positive but was " + maxEntries);
+		}
+		if (0 >= maxBytes) {
+			throw new IllegalArgumentException("Maximum size must be positive but was " + maxBytes);
+		}
+		//endregion
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+	}
+	
+	/**
+	 * Gets a copy of the document of the given file.<br>
+	 * If the file was not changed since it was cached, the cached document is copied, otherwise the file is loaded and cached again
+	 * @param file The file of the document
+	 * @return A copy of the document
+	 * @throws NullPointerException If the file is null or the loader returns null
+	 * @throws RuntimeException If the attributes of the file could not be read or the loader fails
+	 */
+	public @NotNull T get(File file) {
+		Objects.requireNonNull(file, "File must not be null");
+		Path path = file.toPath().toAbsolutePath().normalize();
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not read attributes of file '" + file.getAbsolutePath() + "'", e);
+		}
+		Entry<T> entry;
+		synchronized (this.entries) {
+			entry = this.entries.get(path);
+		}
+		if (entry != null && entry.matches(attributes)) {
+			this.hits.incrementAndGet();
+			return this.copier.apply(entry.document);
+		}
+		this.misses.incrementAndGet();
+		T document = Objects.requireNonNull(this.loader.apply(file), "Loader must not return null");
+		this.put(path, new Entry<>(document, attributes.lastModifiedTime(), attributes.size()));
+		return this.copier.apply(document);
+	}
+	
+	/**
+	 * Removes the document of the given file from the cache
+	 * @param file The file of the document
+	 * @throws NullPointerException If the file is null
+	 */
+	public void invalidate(File file) {
+		Objects.requireNonNull(file, "File must not be null");
+		synchronized (this.entries) {
+			Entry<T> entry = this.entries.remove(file.toPath().toAbsolutePath().normalize());
+			if (entry != null) {
+				this.bytes -= entry.size;
+			}
+		}
+	}
+	
+	/**
+	 * Removes all documents from the cache, the counters are not reset
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+			this.bytes = 0;
+		}
+	}
+	
+	//region Statistics
+	
+	/**
+	 * @return The number of cached documents
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+	
+	/**
+	 * @return The number of calls which returned a cached document
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+	
+	/**
+	 * @return The number of calls which loaded the document from its file
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+	
+	/**
+	 * @return The number of documents which were evicted because the cache exceeded its limits
+	 */
+	public long getEvictions() {
+		return this.evictions.get();
+	}
+	//endregion
+	
+	//region Helper methods
+	private void put(Path path, Entry<T> entry) {
+		synchronized (this.entries) {
+			Entry<T> previous = this.entries.put(path, entry);
+			if (previous != null) {
+				this.bytes -= previous.size;
+			}
+			this.bytes += entry.size;
+			Iterator<Entry<T>> iterator = this.entries.values().iterator();
+			while ((this.entries.size() > this.maxEntries || this.bytes > this.maxBytes) && iterator.hasNext()) {
+				this.bytes -= iterator.next().size;
+				iterator.remove();
+				this.evictions.incrementAndGet();
+			}
+		}
+	}
+	//endregion
+	
+	private record Entry<T>(T document, FileTime modified, long size) {
+		
+		private boolean matches(BasicFileAttributes attributes) {
+			return this.size == attributes.size() && this.modified.equals(attributes.lastModifiedTime());
+		}
+	}
+}
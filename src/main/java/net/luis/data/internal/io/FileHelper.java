@@ -1,10 +1,14 @@
 package net.luis.data.internal.io;
 
+import net.luis.data.cryption.CryptionEngine;
+import net.luis.data.cryption.CryptionInputStream;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 
-import java.io.File;
+import java.io.*;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Helper class for reading files
@@ -39,4 +43,41 @@ public class FileHelper {
 			throw new RuntimeException("Could not read file '" + file.getAbsolutePath() + "'", e);
 		}
 	}
+	
+	/**
+	 * Reads a file which was encrypted with the given engine and returns its decrypted content as a single string.<br>
+	 * The file is decrypted chunk by chunk while it is read
+	 * @param file The file to read from
+	 * @param engine The engine to decrypt the file with
+	 * @return A string containing the decrypted content of the file
+	 * @throws NullPointerException If the engine is null
+	 */
+	public static String read(File file, CryptionEngine engine) {
+		try (BufferedReader reader = newReader(file, engine)) {
+			return IOUtils.toString(reader);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not read file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+	
+	/**
+	 * Opens a buffered reader for the given file.<br>
+	 * If an engine is given, the file is decrypted chunk by chunk while it is read
+	 * @param file The file to read from
+	 * @param engine The engine to decrypt the file with or null if the file is not encrypted
+	 * @return A buffered reader for the content of the file
+	 * @throws NullPointerException If the file is null
+	 */
+	public static BufferedReader newReader(File file, CryptionEngine engine) {
+		Objects.requireNonNull(file, "File must not be null");
+		try {
+			InputStream stream = new FileInputStream(file);
+			if (engine != null) {
+				stream = new CryptionInputStream(new BufferedInputStream(stream), engine);
+			}
+			return new BufferedReader(new InputStreamReader(stream, Charset.defaultCharset()));
+		} catch (Exception e) {
+			throw new RuntimeException("Could not read file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
 }
@@ -0,0 +1,214 @@
+package net.luis.data.internal.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * An input which maps a file into memory with {@link FileChannel#map(FileChannel.MapMode, long, long)}.<br>
+ * The content of the file is not copied into the heap when the file is mapped, it is read from the page cache when it is accessed,
+ * so the same file can be shared by multiple readers and processes.<br>
+ * If the content is ascii or the charset is latin-1, the {@link #chars() characters} are a view of the mapped bytes,
+ * otherwise the content is decoded into a {@link java.nio.CharBuffer} the first time the characters are requested
+ *
+ * @author Luis-St
+ */
+
+public final class MappedInput {
+	
+	private final File file;
+	private final Charset charset;
+	private final MappedByteBuffer bytes;
+	private CharSequence chars;
+	
+	private MappedInput(File file, Charset charset, MappedByteBuffer bytes) {
+		this.file = file;
+		this.charset = charset;
+		this.bytes = bytes;
+	}
+	
+	/**
+	 * Maps the given file into memory using the default charset
+	 * @param file The file to map
+	 * @return The mapped input
+	 * @throws NullPointerException If the file is null
+	 * @throws IllegalArgumentException If the file is larger than 2 GiB
+	 * @throws RuntimeException If the file could not be mapped
+	 */
+	public static @NotNull MappedInput map(File file) {
+		return map(file, Charset.defaultCharset());
+	}
+	
+	/**
+	 * Maps the given file into memory using the given charset
+	 * @param file The file to map
+	 * @param charset The charset of the file
+	 * @return The mapped input
+	 * @throws NullPointerException If the file or the charset is null
+	 * @throws IllegalArgumentException If the file is larger than 2 GiB
+	 * @throws RuntimeException If the file could not be mapped
+	 */
+	public static @NotNull MappedInput map(File file, Charset charset) {
+		Objects.requireNonNull(file, "File must not be null");
+		Objects.requireNonNull(charset, "Charset must not be null");
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("File '" + file.getAbsolutePath() + "' is too large to be mapped");
+			}
+			return new MappedInput(file, charset, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		} catch (IllegalArgumentException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException("Could not map file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+	
+	/**
+	 * @return The mapped file
+	 */
+	public @NotNull File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * @return The charset of the mapped file
+	 */
+	public @NotNull Charset getCharset() {
+		return this.charset;
+	}
+	
+	/**
+	 * @return The size of the mapped file in bytes
+	 */
+	public int size() {
+		return this.bytes.capacity();
+	}
+	
+	/**
+	 * @return A new read-only buffer of the mapped bytes with its own position
+	 */
+	public @NotNull ByteBuffer bytes() {
+		return this.bytes.asReadOnlyBuffer();
+	}
+	
+	/**
+	 * @return A new input stream which reads the mapped bytes from the beginning
+	 */
+	public @NotNull InputStream stream() {
+		return new ByteBufferInputStream(this.bytes());
+	}
+	
+	/**
+	 * Gets the characters of the mapped file.<br>
+	 * The characters are a view of the mapped bytes if possible, otherwise they are decoded once and cached
+	 * @return The characters of the mapped file
+	 */
+	public synchronized @NotNull CharSequence chars() {
+		if (this.chars == null) {
+			if (this.isDirect()) {
+				this.chars = new ByteSequence(this.bytes(), 0, this.size());
+			} else {
+				this.chars = this.charset.decode(this.bytes()).asReadOnlyBuffer();
+			}
+		}
+		return this.chars;
+	}
+	
+	//region Helper methods
+	private boolean isDirect() {
+		if (this.charset.equals(StandardCharsets.ISO_8859_1)) {
+			return true;
+		} else if (!this.charset.equals(StandardCharsets.UTF_8) && !this.charset.equals(StandardCharsets.US_ASCII)) {
+			return false;
+		}
+		for (int i = 0; i < this.size(); i++) {
+			if (this.bytes.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	//endregion
+	
+	//region Byte sequence
+	private static final class ByteSequence implements CharSequence {
+		
+		private final ByteBuffer bytes;
+		private final int start;
+		private final int length;
+		
+		private ByteSequence(ByteBuffer bytes, int start, int length) {
+			this.bytes = bytes;
+			this.start = start;
+			this.length = length;
+		}
+		
+		@Override
+		public int length() {
+			return this.length;
+		}
+		
+		@Override
+		public char charAt(int index) {
+			Objects.checkIndex(index, this.length);
+			return (char) (this.bytes.get(this.start + index) & 0xFF);
+		}
+		
+		@Override
+		public @NotNull CharSequence subSequence(int start, int end) {
+			Objects.checkFromToIndex(start, end, this.length);
+			return new ByteSequence(this.bytes, this.start + start, end - start);
+		}
+		
+		@Override
+		public @NotNull String toString() {
+			byte[] bytes = new byte[this.length];
+			this.bytes.get(this.start, bytes);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+	//endregion
+	
+	//region Byte buffer input stream
+	private static final class ByteBufferInputStream extends InputStream {
+		
+		private final ByteBuffer bytes;
+		
+		private ByteBufferInputStream(ByteBuffer bytes) {
+			this.bytes = bytes;
+		}
+		
+		@Override
+		public int read() {
+			return this.bytes.hasRemaining() ? this.bytes.get() & 0xFF : -1;
+		}
+		
+		@Override
+		public int read(byte @NotNull [] bytes, int offset, int length) {
+			Objects.checkFromIndexSize(offset, length, bytes.length);
+			if (length == 0) {
+				return 0;
+			} else if (!this.bytes.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, this.bytes.remaining());
+			this.bytes.get(bytes, offset, count);
+			return count;
+		}
+		
+		@Override
+		public int available() {
+			return this.bytes.remaining();
+		}
+	}
+	//endregion
+}
@@ -0,0 +1,212 @@
+package net.luis.data.internal.util;
+
+import com.google.common.collect.Lists;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A cursor over a {@link CharSequence} which tracks whether the current character is quoted or escaped in a single forward pass.<br>
+ * A backslash escapes the following character, an escaped backslash does not escape the character after it.<br>
+ * Unescaped quote characters start and end quoted sections, if the start and end quote are different characters the sections can be nested.<br>
+ * Results are returned as {@link Range offset ranges} of the scanned value, so no substrings are created while scanning
+ *
+ * @author Luis-St
+ */
+
+public final class DataScanner {
+	
+	private final CharSequence value;
+	private final char startQuote;
+	private final char endQuote;
+	private int position;
+	private int depth;
+	private boolean escape;
+	private boolean quoted;
+	private boolean escaped;
+	
+	/**
+	 * Constructs a new {@link DataScanner} which uses double quotes to quote sections
+	 * @param value The value to scan
+	 * @throws NullPointerException If the value is null
+	 */
+	public DataScanner(CharSequence value) {
+		this(value, '"', '"');
+	}
+	
+	/**
+	 * Constructs a new {@link DataScanner} which uses the given characters to quote sections
+	 * @param value The value to scan
+	 * @param startQuote The character which starts a quoted section
+	 * @param endQuote The character which ends a quoted section
+	 * @throws NullPointerException If the value is null
+	 */
+	public DataScanner(CharSequence value, char startQuote, char endQuote) {
+		this.value = Objects.requireNonNull(value, "Value must not be null");
+		this.startQuote = startQuote;
+		this.endQuote = endQuote;
+	}
+	
+	/**
+	 * @return The offset of the next character
+	 */
+	public int getPosition() {
+		return this.position;
+	}
+	
+	/**
+	 * @return True if there are characters left to scan
+	 */
+	public boolean hasNext() {
+		return this.value.length() > this.position;
+	}
+	
+	/**
+	 * Scans the next character and updates the quote and escape state
+	 * @return The scanned character
+	 * @throws IndexOutOfBoundsException If there are no characters left to scan
+	 */
+	public char next() {
+		char c = this.value.charAt(this.position++);
+		this.escaped = this.escape;
+		this.escape = !this.escaped && c == '\\';
+		this.quoted = this.depth > 0;
+		if (!this.escaped) {
+			if (this.startQuote == this.endQuote) {
+				if (c == this.startQuote) {
+					this.depth = this.depth > 0 ? 0 : 1;
+				}
+			} else if (c == this.startQuote) {
+				this.depth++;
+			} else if (c == this.endQuote && this.depth > 0) {
+				this.depth--;
+			}
+		}
+		this.quoted |= this.depth > 0;
+		return c;
+	}
+	
+	/**
+	 * @return True if the last scanned character is a quote character of a quoted section or is inside a quoted section
+	 */
+	public boolean isQuoted() {
+		return this.quoted;
+	}
+	
+	/**
+	 * @return True if the last scanned character is escaped by a backslash
+	 */
+	public boolean isEscaped() {
+		return this.escaped;
+	}
+	
+	/**
+	 * Scans forward to the next occurrence of the given target which is neither quoted nor escaped.<br>
+	 * The cursor is placed behind the occurrence or at the end of the value if there is no occurrence
+	 * @param target The target to search
+	 * @return The offset of the occurrence or -1 if there is no occurrence
+	 * @throws NullPointerException If the target is null
+	 * @throws IllegalArgumentException If the target is empty
+	 */
+	public int find(CharSequence target) {
+		Objects.requireNonNull(target, "Target must not be null");
+		if (target.isEmpty()) {
+			throw new IllegalArgumentException("Target must not be empty");
+		}
+		while (this.hasNext()) {
+			int start = this.position;
+			this.next();
+			if (!this.quoted && !this.escaped && this.matches(start, target)) {
+				for (int i = 1; i < target.length(); i++) {
+					this.next();
+				}
+				return start;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Counts the remaining occurrences of the given target which are neither quoted nor escaped, occurrences do not overlap
+	 * @param target The target to count
+	 * @return The amount of occurrences
+	 * @throws NullPointerException If the target is null
+	 * @throws IllegalArgumentException If the target is empty
+	 */
+	public int count(CharSequence target) {
+		int count = 0;
+		while (this.find(target) != -1) {
+			count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Splits the remaining characters at the occurrences of the given separator which are neither quoted nor escaped
+	 * @param separator The separator to split at
+	 * @return The ranges of the parts between the separators, the last range ends at the end of the value
+	 * @throws NullPointerException If the separator is null
+	 * @throws IllegalArgumentException If the separator is empty
+	 */
+	public @NotNull List<Range> split(CharSequence separator) {
+		List<Range> ranges = Lists.newArrayList();
+		int start = this.position;
+		int index;
+		while ((index = this.find(separator)) != -1) {
+			ranges.add(new Range(start, index));
+			start = this.position;
+		}
+		ranges.add(new Range(start, this.value.length()));
+		return ranges;
+	}
+	
+	/**
+	 * Resets the cursor and the state of the scanner to the beginning of the value
+	 */
+	public void reset() {
+		this.position = 0;
+		this.depth = 0;
+		this.escape = false;
+		this.quoted = false;
+		this.escaped = false;
+	}
+	
+	//region Helper methods
+	private boolean matches(int start, CharSequence target) {
+		if (start + target.length() > this.value.length()) {
+			return false;
+		}
+		for (int i = 0; i < target.length(); i++) {
+			if (this.value.charAt(start + i) != target.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	//endregion
+	
+	/**
+	 * A range of offsets of a scanned value
+	 * @param start The offset of the first character, inclusive
+	 * @param end The offset after the last character, exclusive
+	 */
+	public record Range(int start, int end) {
+		
+		/**
+		 * @return The amount of characters in the range
+		 */
+		public int length() {
+			return this.end - this.start;
+		}
+		
+		/**
+		 * Gets the characters of the range from the given value
+		 * @param value The scanned value
+		 * @return The characters of the range as a string
+		 */
+		public @NotNull String of(CharSequence value) {
+			return value.subSequence(this.start, this.end).toString();
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package net.luis.data.internal.util;
 
-import com.google.common.collect.Lists;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -15,13 +14,18 @@ import java.util.Objects;
 public class DataUtils {
 	
 	/**
-	 * Checks if the given character is not escaped
+	 * Checks if the given character is not escaped.<br>
+	 * A character is escaped if it is preceded by an odd number of backslashes
 	 * @param value The value to check
 	 * @param index The index of the character to check
 	 * @return True if the character is not escaped
 	 */
 	public static boolean isNotEscaped(String value, int index) {
-		return index - 1 < 0 || value.charAt(index - 1) != '\\';
+		int backslashes = 0;
+		for (int i = index - 1; i >= 0 && value.charAt(i) == '\\'; i--) {
+			backslashes++;
+		}
+		return backslashes % 2 == 0;
 	}
 	
 	/**
@@ -40,73 +44,48 @@ public class DataUtils {
 	 * @param startIgnore The character to start ignoring whitespaces
 	 * @param endIgnore The character to stop ignoring whitespaces
 	 * @return The value without whitespaces
+	 * @see DataScanner
 	 */
 	public static @NotNull String deleteWhitespace(String value, char startIgnore, char endIgnore) {
-		Objects.requireNonNull(value, "Value must not be null");
-		StringBuilder result = new StringBuilder();
-		boolean ignored = false;
-		for (int i = 0; i < value.length(); i++) {
-			char c = value.charAt(i);
-			if (isNotEscaped(value, i)) {
-				if (c == startIgnore) {
-					ignored = true;
-				}
-				if (c == endIgnore) {
-					ignored = false;
-				}
-			}
-			if (!Character.isWhitespace(c) || ignored) {
+		DataScanner scanner = new DataScanner(value, startIgnore, endIgnore);
+		StringBuilder result = new StringBuilder(value.length());
+		while (scanner.hasNext()) {
+			char c = scanner.next();
+			if (!Character.isWhitespace(c) || scanner.isQuoted()) {
 				result.append(c);
 			}
-			
 		}
 		return result.toString();
 	}
 	
 	/**
-	 * Counts the occurrences of the given string, except those between double quotes
+	 * Counts the occurrences of the given string, except those between double quotes.<br>
+	 * Occurrences which are escaped by a backslash are not counted and occurrences do not overlap,
+	 * e.g. {@code a\,b,c} contains one comma
 	 * @param value The value to count the occurrences in
 	 * @param toCheck The string to check for
 	 * @return The amount of occurrences
+	 * @see DataScanner#count(CharSequence)
 	 */
 	public static int countNoneQuoted(String value, String toCheck) {
-		Objects.requireNonNull(value, "Value must not be null");
-		Objects.requireNonNull(toCheck, "String to check must not be null");
-		int count = 0;
-		boolean inQuotes = false;
-		for (int i = 0; i < value.length(); i++) {
-			if (value.charAt(i) == '"' && isNotEscaped(value, i)) {
-				inQuotes = !inQuotes;
-			}
-			if (!inQuotes && value.startsWith(toCheck, i)) {
-				count++;
-			}
-		}
-		return count;
+		return new DataScanner(value).count(Objects.requireNonNull(toCheck, "String to check must not be null"));
 	}
 	
 	/**
-	 * Splits the given string at the given separator, except those between double quotes
+	 * Splits the given string at the given separator, except those between double quotes.<br>
+	 * A separator which is escaped by a backslash does not split the string, the backslash is kept in the result,
+	 * e.g. {@code a\,b,c} is split into {@code a\,b} and {@code c}
 	 * @param value The value to split
 	 * @param separator The separator to split at
 	 * @return The split string
+	 * @see DataScanner#split(CharSequence)
 	 */
 	public static String[] splitNoneQuoted(String value, String separator) {
-		Objects.requireNonNull(value, "Value must not be null");
-		Objects.requireNonNull(separator, "Separator must not be null");
-		List<String> result = Lists.newArrayList();
-		boolean inQuotes = false;
-		for (int i = 0; i < value.length(); i++) {
-			if (value.charAt(i) == '"' && isNotEscaped(value, i)) {
-				inQuotes = !inQuotes;
-			}
-			if (!inQuotes && value.startsWith(separator, i)) {
-				result.add(value.substring(0, i));
-				value = value.substring(i + separator.length());
-				i = 0;
-			}
+		List<DataScanner.Range> ranges = new DataScanner(value).split(Objects.requireNonNull(separator, "Separator must not be null"));
+		String[] result = new String[ranges.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = ranges.get(i).of(value);
 		}
-		result.add(value);
-		return result.toArray(String[]::new);
+		return result;
 	}
 }
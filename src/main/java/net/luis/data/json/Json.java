@@ -2,7 +2,10 @@ package net.luis.data.json;
 
 import net.luis.data.json.config.JsonConfig;
 import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.io.JsonLexer;
+import net.luis.data.json.io.JsonParallelParser;
 import net.luis.data.json.io.JsonReader;
+import net.luis.data.json.io.JsonToken;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -28,6 +31,32 @@ public sealed interface Json permits JsonArray, JsonNull, JsonObject, JsonPrimit
 		return new JsonReader(json).toJson();
 	}
 	
+	/**
+	 * Parses the given json string into a {@link Json} element, the elements of a top-level json array are parsed in parallel.<br>
+	 * If the json string is not a json array, it is parsed like {@link #parse(String)}
+	 * @param json The json string to parse
+	 * @return The parsed Json element
+	 * @see JsonParallelParser
+	 */
+	static @NotNull Json parseParallel(String json) {
+		if (new JsonLexer(json).peek() == JsonToken.BEGIN_ARRAY) {
+			return new JsonParallelParser(json).parse();
+		}
+		return parse(json);
+	}
+	
+	/**
+	 * Parses the given json string into a lazy {@link Json} element.<br>
+	 * Json objects and arrays only record the range of their content and parse their direct children when they are accessed for the first time,
+	 * which saves time and memory if only a few elements of a large json string are used.<br>
+	 * Syntax errors inside of json objects and arrays are reported when they are accessed
+	 * @param json The json string to parse
+	 * @return The lazy Json element
+	 */
+	static @NotNull Json parseLazy(String json) {
+		return JsonLazy.parse(json);
+	}
+	
 	/**
 	 * @return The name of the Json element
 	 */
@@ -40,6 +69,22 @@ public sealed interface Json permits JsonArray, JsonNull, JsonObject, JsonPrimit
 	 */
 	@NotNull Json copy();
 	
+	/**
+	 * Freezes the Json element, a frozen Json element and all of its children can not be modified.<br>
+	 * Json primitives and json null can not be modified at all, so they are always frozen
+	 * @return A frozen version of the Json element, which is the element itself if it is already frozen
+	 */
+	default @NotNull Json freeze() {
+		return this;
+	}
+	
+	/**
+	 * @return True if the Json element is frozen
+	 */
+	default boolean isFrozen() {
+		return true;
+	}
+	
 	//region JsonArray
 	
 	/**
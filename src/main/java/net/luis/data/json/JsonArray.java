@@ -1,28 +1,38 @@
 package net.luis.data.json;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import net.luis.data.json.config.JsonConfig;
-import net.luis.utils.util.Utils;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.io.JsonGenerator;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.StringWriter;
 import java.util.*;
 import java.util.stream.Stream;
 
 /**
- * Json element that represents a json array
+ * Json element that represents a json array.<br>
+ * Arrays which only contain long or only contain double {@link JsonNumber json numbers} are stored packed in a primitive array,
+ * they are unpacked as soon as an element of another kind is added.<br>
+ * A json array can be {@link #freeze() frozen}, a frozen json array and all of its elements can not be modified,
+ * so it can be shared between threads without copying it.<br>
+ * Frozen json arrays are updated with {@link #with(int, Json)}, {@link #withAdded(Json)} and {@link #without(int)},
+ * which create a new frozen json array that shares all unchanged elements with this json array
  *
  * @author Luis-St
  */
 
 public final class JsonArray implements Json, Iterable<Json> {
 	
-	private final List<Json> elements = Lists.newArrayList();
+	private final List<Json> frozenElements;
+	private List<Json> elements;
 	
 	/**
 	 * Constructs a new empty {@link JsonArray json array}
 	 */
 	public JsonArray() {
-		super();
+		this(Lists.newArrayList());
 	}
 	
 	/**
@@ -31,7 +41,47 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @throws NullPointerException If the elements are null
 	 */
 	public JsonArray(Json... elements) {
-		this.elements.addAll(Arrays.asList(elements));
+		this();
+		for (Json element : elements) {
+			this.add(element);
+		}
+	}
+	
+	/**
+	 * Constructs a new packed {@link JsonArray} with the given long values
+	 * @param values The values of the json array
+	 * @throws NullPointerException If the values are null
+	 */
+	public JsonArray(long... values) {
+		this(new JsonNumberList.Longs(values.clone(), values.length));
+	}
+	
+	/**
+	 * Constructs a new packed {@link JsonArray} with the given double values
+	 * @param values The values of the json array
+	 * @throws NullPointerException If the values are null
+	 */
+	public JsonArray(double... values) {
+		this(new JsonNumberList.Doubles(values.clone(), values.length));
+	}
+	
+	/**
+	 * Constructs a new {@link JsonArray} which uses the given list as its storage
+	 * @param elements The storage of the json array
+	 */
+	JsonArray(List<Json> elements) {
+		this(elements, false);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonArray} with the given elements.<br>
+	 * The elements of a frozen json array are kept in a final field, so the frozen json array is safely published to other threads
+	 * @param elements The elements of the json array, which must not be modified afterwards if the json array is frozen
+	 * @param frozen Whether the json array is frozen
+	 */
+	private JsonArray(List<Json> elements, boolean frozen) {
+		this.frozenElements = frozen ? elements : null;
+		this.elements = frozen ? null : elements;
 	}
 	
 	@Override
@@ -41,22 +91,95 @@ public final class JsonArray implements Json, Iterable<Json> {
 	
 	@Override
 	public @NotNull JsonArray copy() {
+		List<Json> elements = this.elements();
+		if (elements instanceof JsonNumberList numbers) {
+			return new JsonArray(numbers.copy());
+		}
 		JsonArray array = new JsonArray();
-		for (Json element : this.elements) {
+		for (Json element : elements) {
 			array.add(element.copy());
 		}
 		return array;
 	}
 	
+	//region Freezing
+	
+	/**
+	 * Freezes this json array and all of its elements
+	 * @return A frozen copy of this json array or this json array if it is already frozen
+	 */
+	@Override
+	public @NotNull JsonArray freeze() {
+		if (this.frozenElements != null) {
+			return this;
+		}
+		if (this.elements instanceof JsonNumberList numbers) {
+			return frozen(numbers.copy());
+		}
+		List<Json> elements = Lists.newArrayListWithCapacity(this.elements.size());
+		for (Json element : this.elements) {
+			elements.add(element.freeze());
+		}
+		return frozen(elements);
+	}
+	
+	@Override
+	public boolean isFrozen() {
+		return this.frozenElements != null;
+	}
+	
+	/**
+	 * Creates a frozen json array which contains the elements of this json array with the element at the given index replaced.<br>
+	 * The elements of this json array are not copied, they are shared with the new json array
+	 * @param index The index of the element to replace
+	 * @param element The new element, null is stored as {@link JsonNull}
+	 * @return The new frozen json array
+	 * @throws IndexOutOfBoundsException If the index is out of range
+	 */
+	public @NotNull JsonArray with(int index, Json element) {
+		JsonArray array = this.unfrozen();
+		array.set(index, element == null ? JsonNull.INSTANCE : element.freeze());
+		return frozen(array.elements);
+	}
+	
+	/**
+	 * Creates a frozen json array which contains the elements of this json array and the given element at the end.<br>
+	 * The elements of this json array are not copied, they are shared with the new json array
+	 * @param element The element to add, null is stored as {@link JsonNull}
+	 * @return The new frozen json array
+	 */
+	public @NotNull JsonArray withAdded(Json element) {
+		JsonArray array = this.unfrozen();
+		array.add(element == null ? JsonNull.INSTANCE : element.freeze());
+		return frozen(array.elements);
+	}
+	
+	/**
+	 * Creates a frozen json array which contains the elements of this json array without the element at the given index.<br>
+	 * The elements of this json array are not copied, they are shared with the new json array
+	 * @param index The index of the element to remove
+	 * @return The new frozen json array
+	 * @throws IndexOutOfBoundsException If the index is out of range
+	 */
+	public @NotNull JsonArray without(int index) {
+		JsonArray array = this.unfrozen();
+		array.remove(index);
+		return frozen(array.elements);
+	}
+	//endregion
+	
 	//region Adders
 	
 	/**
 	 * Adds the given element to the json array
 	 * @param element The element to add
 	 * @return True if the element was added
+	 * @throws UnsupportedOperationException If this json array is frozen
 	 */
 	public boolean add(Json element) {
-		return this.elements.add(element == null ? JsonNull.INSTANCE : element);
+		this.checkMutable();
+		Json json = element == null ? JsonNull.INSTANCE : element;
+		return this.elementsFor(json).add(json);
 	}
 	
 	/**
@@ -93,7 +216,11 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @throws NullPointerException If the json array is null
 	 */
 	public boolean addAll(JsonArray array) {
-		return this.elements.addAll(Objects.requireNonNull(array, "Json array must not be null").elements);
+		Objects.requireNonNull(array, "Json array must not be null");
+		for (Json element : array.elements()) {
+			this.add(element);
+		}
+		return true;
 	}
 	
 	/**
@@ -128,17 +255,22 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @param index The index of the element to replace
 	 * @param element The element to replace the old element with
 	 * @return The old element
+	 * @throws UnsupportedOperationException If this json array is frozen
 	 */
 	public Json set(int index, Json element) {
-		return this.elements.set(index, element == null ? JsonNull.INSTANCE : element);
+		this.checkMutable();
+		Json json = element == null ? JsonNull.INSTANCE : element;
+		return this.elementsFor(json).set(index, json);
 	}
 	
 	/**
 	 * Removes the element at the given index
 	 * @param index The index of the element to remove
 	 * @return The removed element
+	 * @throws UnsupportedOperationException If this json array is frozen
 	 */
 	public Json remove(int index) {
+		this.checkMutable();
 		return this.elements.remove(index);
 	}
 	
@@ -146,8 +278,10 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * Removes the given element
 	 * @param element The element to remove
 	 * @return True if the element was removed
+	 * @throws UnsupportedOperationException If this json array is frozen
 	 */
 	public boolean remove(Json element) {
+		this.checkMutable();
 		return this.elements.remove(element);
 	}
 	
@@ -155,14 +289,14 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The size of the json array
 	 */
 	public int size() {
-		return this.elements.size();
+		return this.elements().size();
 	}
 	
 	/**
 	 * @return True if the json array is empty
 	 */
 	public boolean isEmpty() {
-		return this.elements.isEmpty();
+		return this.elements().isEmpty();
 	}
 	
 	/**
@@ -171,7 +305,7 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return True if the json array contains the element
 	 */
 	public boolean contains(Json element) {
-		return this.elements.contains(element);
+		return this.elements().contains(element);
 	}
 	
 	/**
@@ -181,12 +315,12 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @throws NullPointerException If the json array is null
 	 */
 	public boolean containsAll(JsonArray array) {
-		return new HashSet<>(this.elements).containsAll(Objects.requireNonNull(array, "Json array must not be null").elements);
+		return new HashSet<>(this.elements()).containsAll(Objects.requireNonNull(array, "Json array must not be null").elements());
 	}
 	
 	@Override
 	public @NotNull Iterator<Json> iterator() {
-		return this.elements.iterator();
+		return this.frozenElements != null ? Iterators.unmodifiableIterator(this.frozenElements.iterator()) : this.elements.iterator();
 	}
 	//endregion
 	
@@ -198,7 +332,7 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index
 	 */
 	public Json get(int index) {
-		return this.elements.get(index);
+		return this.elements().get(index);
 	}
 	
 	/**
@@ -207,7 +341,7 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a json object
 	 */
 	public JsonObject getAsObject(int index) {
-		return this.elements.get(index).getAsObject();
+		return this.elements().get(index).getAsObject();
 	}
 	
 	/**
@@ -216,7 +350,7 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a json array
 	 */
 	public JsonArray getAsArray(int index) {
-		return this.elements.get(index).getAsArray();
+		return this.elements().get(index).getAsArray();
 	}
 	
 	/**
@@ -225,7 +359,7 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a boolean
 	 */
 	public boolean getAsBoolean(int index) {
-		return this.elements.get(index).getAsBoolean();
+		return this.elements().get(index).getAsBoolean();
 	}
 	
 	/**
@@ -234,7 +368,7 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a number
 	 */
 	public Number getAsNumber(int index) {
-		return this.elements.get(index).getAsNumber();
+		return this.elements().get(index).getAsNumber();
 	}
 	
 	/**
@@ -243,7 +377,10 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a integer
 	 */
 	public int getAsInt(int index) {
-		return this.elements.get(index).getAsInt();
+		if (this.elements() instanceof JsonNumberList numbers) {
+			return (int) numbers.getAsLong(index);
+		}
+		return this.elements().get(index).getAsInt();
 	}
 	
 	/**
@@ -252,7 +389,10 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a long
 	 */
 	public long getAsLong(int index) {
-		return this.elements.get(index).getAsLong();
+		if (this.elements() instanceof JsonNumberList numbers) {
+			return numbers.getAsLong(index);
+		}
+		return this.elements().get(index).getAsLong();
 	}
 	
 	/**
@@ -261,7 +401,10 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a double
 	 */
 	public double getAsDouble(int index) {
-		return this.elements.get(index).getAsDouble();
+		if (this.elements() instanceof JsonNumberList numbers) {
+			return numbers.getAsDouble(index);
+		}
+		return this.elements().get(index).getAsDouble();
 	}
 	
 	/**
@@ -270,31 +413,89 @@ public final class JsonArray implements Json, Iterable<Json> {
 	 * @return The element at the given index as a string
 	 */
 	public String getAsString(int index) {
-		return this.elements.get(index).getAsString();
+		return this.elements().get(index).getAsString();
+	}
+	//endregion
+	
+	//region Bulk getters
+	
+	/**
+	 * Gets all elements of the json array as long values
+	 * @return A new array which contains the long values of the elements
+	 * @throws JsonException If an element of the json array is not a {@link JsonNumber}
+	 */
+	public long[] toLongArray() {
+		if (this.elements() instanceof JsonNumberList numbers) {
+			return numbers.toLongArray();
+		}
+		long[] values = new long[this.elements().size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.elements().get(i).getAsLong();
+		}
+		return values;
+	}
+	
+	/**
+	 * Gets all elements of the json array as double values
+	 * @return A new array which contains the double values of the elements
+	 * @throws JsonException If an element of the json array is not a {@link JsonNumber}
+	 */
+	public double[] toDoubleArray() {
+		if (this.elements() instanceof JsonNumberList numbers) {
+			return numbers.toDoubleArray();
+		}
+		double[] values = new double[this.elements().size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.elements().get(i).getAsDouble();
+		}
+		return values;
 	}
 	//endregion
 	
 	@Override
 	public @NotNull String toString(JsonConfig config) {
-		if (this.elements.isEmpty()) {
+		if (this.elements().isEmpty()) {
 			return "[]";
 		}
-		Objects.requireNonNull(config, "Json config must not be null");
-		boolean simplify = JsonHelper.canBeSimplified(this.elements, config.simplifyPrimitiveArrays());
-		List<String> values = Utils.mapList(this.elements, element -> {
-			if (config.prettyPrint() && !simplify) {
-				return JsonHelper.correctIndents(element, config, "");
-			}
-			return element.toString(config);
-		});
-		if (!config.prettyPrint()) {
-			return "[" + String.join(",", values) + "]";
+		StringWriter writer = new StringWriter();
+		new JsonGenerator(writer, Objects.requireNonNull(config, "Json config must not be null")).value(this);
+		return writer.toString();
+	}
+	
+	//region Helper methods
+	private static @NotNull JsonArray frozen(List<Json> elements) {
+		return new JsonArray(elements instanceof JsonNumberList ? elements : Collections.unmodifiableList(elements), true);
+	}
+	
+	private @NotNull List<Json> elements() {
+		return this.frozenElements != null ? this.frozenElements : this.elements;
+	}
+	
+	private void checkMutable() {
+		if (this.frozenElements != null) {
+			throw new UnsupportedOperationException("Json array is frozen");
 		}
-		if (simplify) {
-			return "[" + String.join(", ", values) + "]";
+	}
+	
+	private @NotNull JsonArray unfrozen() {
+		List<Json> elements = this.freeze().frozenElements;
+		return new JsonArray(elements instanceof JsonNumberList numbers ? numbers.copy() : Lists.newArrayList(elements));
+	}
+	
+	private @NotNull List<Json> elementsFor(Json element) {
+		if (this.elements instanceof JsonNumberList numbers) {
+			if (!numbers.accepts(element)) {
+				this.elements = numbers.isEmpty() ? Lists.newArrayList() : numbers.unpack();
+			}
+		} else if (this.elements.isEmpty()) {
+			JsonNumberList numbers = JsonNumberList.of(element);
+			if (numbers != null) {
+				this.elements = numbers;
+			}
 		}
-		return "[" + System.lineSeparator() + String.join("," + System.lineSeparator(), values) + System.lineSeparator() + config.indent() + "]";
+		return this.elements;
 	}
+	//endregion
 	
 	//region Object overrides
 	@Override
@@ -302,17 +503,17 @@ public final class JsonArray implements Json, Iterable<Json> {
 		if (this == o) return true;
 		if (!(o instanceof JsonArray jsonArray)) return false;
 		
-		return this.elements.equals(jsonArray.elements);
+		return this.elements().equals(jsonArray.elements());
 	}
 	
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.elements);
+		return Objects.hash(this.elements());
 	}
 	
 	@Override
 	public String toString() {
-		return this.elements.toString();
+		return this.elements().toString();
 	}
 	//endregion
 }
@@ -13,6 +13,15 @@ import java.util.Objects;
 
 public final class JsonBoolean extends JsonPrimitive {
 	
+	/**
+	 * The shared {@link JsonBoolean} which represents true
+	 */
+	public static final JsonBoolean TRUE = new JsonBoolean(true);
+	/**
+	 * The shared {@link JsonBoolean} which represents false
+	 */
+	public static final JsonBoolean FALSE = new JsonBoolean(false);
+	
 	private final boolean value;
 	
 	/**
@@ -23,6 +32,15 @@ public final class JsonBoolean extends JsonPrimitive {
 		this.value = value;
 	}
 	
+	/**
+	 * Gets the shared {@link JsonBoolean} for the given value
+	 * @param value The value of the json boolean
+	 * @return {@link #TRUE} if the value is true, otherwise {@link #FALSE}
+	 */
+	public static @NotNull JsonBoolean valueOf(boolean value) {
+		return value ? TRUE : FALSE;
+	}
+	
 	@Override
 	public @NotNull String getName() {
 		return "json boolean";
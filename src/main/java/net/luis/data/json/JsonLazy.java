@@ -0,0 +1,348 @@
+package net.luis.data.json;
+
+import com.google.common.collect.Lists;
+import net.luis.data.json.exception.JsonSyntaxException;
+import net.luis.data.json.io.JsonLexer;
+import net.luis.data.json.io.JsonParser;
+import net.luis.data.json.io.JsonToken;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Helper class which creates lazy {@link Json} trees.<br>
+ * A single structural pass over the input records where each object and array ends, like the pass of the {@link net.luis.data.json.io.JsonParallelParser}.<br>
+ * A lazy json object or array only records the range of its source text,
+ * its direct children are scanned the first time the object or array is accessed.<br>
+ * Nested objects and arrays are created as lazy elements again, their end is taken from the structural pass,
+ * so a subtree is only tokenized if it is accessed and a full traversal tokenizes every character once.<br>
+ * Syntax errors inside of a lazy element are reported when the element is accessed for the first time
+ *
+ * @author Luis-St
+ */
+
+@ApiStatus.Internal
+final class JsonLazy {
+	
+	/**
+	 * Parses the given json string into a lazy {@link Json} element.<br>
+	 * The structure of the input is validated up to the brackets, the content of objects and arrays is validated when they are accessed
+	 * @param json The json string to parse
+	 * @return The lazy json element
+	 * @throws NullPointerException If the json string is null
+	 * @throws JsonSyntaxException If the brackets of the input are not balanced or the input contains more than one value
+	 */
+	static @NotNull Json parse(CharSequence json) {
+		Objects.requireNonNull(json, "Json must not be null");
+		JsonLexer lexer = new JsonLexer(json);
+		JsonToken token = lexer.peek();
+		if (token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY) {
+			return new JsonParser(json).parse();
+		}
+		lexer.next();
+		int start = lexer.tokenStart();
+		Structure structure = new Structure(json, start);
+		int end = structure.end(0);
+		lexer.position(end);
+		expect(lexer, JsonToken.END_OF_INPUT);
+		return create(structure, 0, token, start, end);
+	}
+	
+	//region Helper methods
+	private static @NotNull Json create(Structure structure, int container, JsonToken token, int start, int end) {
+		if (token == JsonToken.BEGIN_OBJECT) {
+			return new JsonObject(new ObjectStorage(structure, container, start, end));
+		}
+		return new JsonArray(new ArrayStorage(structure, container, start, end));
+	}
+	
+	private static boolean isContainer(JsonToken token) {
+		return token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY;
+	}
+	
+	private static @NotNull Json readValue(Structure structure, JsonLexer lexer, int container) {
+		JsonToken token = lexer.next();
+		return switch (token) {
+			case BEGIN_OBJECT, BEGIN_ARRAY -> {
+				int start = lexer.tokenStart();
+				int end = structure.end(container);
+				lexer.position(end);
+				yield create(structure, container, token, start, end);
+			}
+			case STRING -> new JsonString(lexer.text());
+			case NUMBER -> {
+				String value = lexer.text();
+				try {
+					yield JsonNumber.parse(value);
+				} catch (NumberFormatException e) {
+					throw new JsonSyntaxException("Invalid json value '" + value + "' at index " + lexer.tokenStart(), e);
+				}
+			}
+			case TRUE -> JsonBoolean.TRUE;
+			case FALSE -> JsonBoolean.FALSE;
+			case NULL -> JsonNull.INSTANCE;
+			default -> throw unexpected(lexer, token, "json value");
+		};
+	}
+	
+	private static boolean separator(JsonLexer lexer, JsonToken close) {
+		JsonToken token = lexer.next();
+		if (token == JsonToken.COMMA) {
+			return true;
+		} else if (token == close) {
+			return false;
+		}
+		throw unexpected(lexer, token, JsonToken.COMMA.getName() + " or " + close.getName());
+	}
+	
+	private static void expect(JsonLexer lexer, JsonToken expected) {
+		JsonToken token = lexer.next();
+		if (token != expected) {
+			throw unexpected(lexer, token, expected.getName());
+		}
+	}
+	
+	private static @NotNull JsonSyntaxException unexpected(JsonLexer lexer, JsonToken token, String expected) {
+		return new JsonSyntaxException("Expected " + expected + " but found " + token.getName() + " at index " + lexer.tokenStart());
+	}
+	//endregion
+	
+	//region Object storage
+	static final class ObjectStorage extends AbstractMap<String, Json> {
+		
+		private Structure structure;
+		private final int container;
+		private final int start;
+		private final int end;
+		private JsonMap elements;
+		
+		private ObjectStorage(Structure structure, int container, int start, int end) {
+			this.structure = structure;
+			this.container = container;
+			this.start = start;
+			this.end = end;
+		}
+		
+		private @NotNull JsonMap elements() {
+			if (this.elements == null) {
+				this.elements = this.scan();
+				this.structure = null;
+			}
+			return this.elements;
+		}
+		
+		private @NotNull JsonMap scan() {
+			JsonMap elements = new JsonMap();
+			JsonLexer lexer = new JsonLexer(this.structure.source, this.start, this.end);
+			int child = this.container + 1;
+			expect(lexer, JsonToken.BEGIN_OBJECT);
+			if (lexer.peek() == JsonToken.END_OBJECT) {
+				lexer.next();
+			} else {
+				do {
+					JsonToken token = lexer.next();
+					if (token != JsonToken.STRING) {
+						throw unexpected(lexer, token, "json key");
+					}
+					if (lexer.tokenStart() == lexer.tokenEnd()) {
+						throw new JsonSyntaxException("Json key at index " + lexer.tokenStart() + " is empty");
+					}
+					String key = lexer.text();
+					expect(lexer, JsonToken.COLON);
+					boolean nested = isContainer(lexer.peek());
+					elements.put(key, readValue(this.structure, lexer, child));
+					if (nested) {
+						child = this.structure.next(child);
+					}
+				} while (separator(lexer, JsonToken.END_OBJECT));
+			}
+			expect(lexer, JsonToken.END_OF_INPUT);
+			return elements;
+		}
+		
+		@Override
+		public int size() {
+			return this.elements().size();
+		}
+		
+		@Override
+		public boolean containsKey(Object key) {
+			return this.elements().containsKey(key);
+		}
+		
+		@Override
+		public Json get(Object key) {
+			return this.elements().get(key);
+		}
+		
+		@Override
+		public Json put(String key, Json value) {
+			return this.elements().put(key, value);
+		}
+		
+		@Override
+		public Json remove(Object key) {
+			return this.elements().remove(key);
+		}
+		
+		@Override
+		public void clear() {
+			this.elements().clear();
+		}
+		
+		@Override
+		public @NotNull Set<Map.Entry<String, Json>> entrySet() {
+			return this.elements().entrySet();
+		}
+	}
+	//endregion
+	
+	//region Array storage
+	static final class ArrayStorage extends AbstractList<Json> implements RandomAccess {
+		
+		private Structure structure;
+		private final int container;
+		private final int start;
+		private final int end;
+		private List<Json> elements;
+		
+		private ArrayStorage(Structure structure, int container, int start, int end) {
+			this.structure = structure;
+			this.container = container;
+			this.start = start;
+			this.end = end;
+		}
+		
+		private @NotNull List<Json> elements() {
+			if (this.elements == null) {
+				this.elements = this.scan();
+				this.structure = null;
+			}
+			return this.elements;
+		}
+		
+		private @NotNull List<Json> scan() {
+			List<Json> elements = Lists.newArrayList();
+			JsonLexer lexer = new JsonLexer(this.structure.source, this.start, this.end);
+			int child = this.container + 1;
+			expect(lexer, JsonToken.BEGIN_ARRAY);
+			if (lexer.peek() == JsonToken.END_ARRAY) {
+				lexer.next();
+			} else {
+				do {
+					boolean nested = isContainer(lexer.peek());
+					elements.add(readValue(this.structure, lexer, child));
+					if (nested) {
+						child = this.structure.next(child);
+					}
+				} while (separator(lexer, JsonToken.END_ARRAY));
+			}
+			expect(lexer, JsonToken.END_OF_INPUT);
+			return elements;
+		}
+		
+		@Override
+		public int size() {
+			return this.elements().size();
+		}
+		
+		@Override
+		public Json get(int index) {
+			return this.elements().get(index);
+		}
+		
+		@Override
+		public Json set(int index, Json element) {
+			return this.elements().set(index, element);
+		}
+		
+		@Override
+		public void add(int index, Json element) {
+			this.elements().add(index, element);
+			this.modCount++;
+		}
+		
+		@Override
+		public Json remove(int index) {
+			Json element = this.elements().remove(index);
+			this.modCount++;
+			return element;
+		}
+	}
+	//endregion
+	
+	//region Structure
+	private static final class Structure {
+		
+		private final CharSequence source;
+		private int[] ends = new int[32];
+		private int[] nexts = new int[32];
+		
+		/**
+		 * Scans the brackets of the container which starts at the given index, strings are skipped.<br>
+		 * The containers are numbered in the order of their opening brackets, the container which starts at the given index is number 0
+		 * @param source The json source
+		 * @param start The index of the opening bracket
+		 * @throws JsonSyntaxException If the container is not terminated
+		 */
+		private Structure(CharSequence source, int start) {
+			this.source = source;
+			int[] stack = new int[16];
+			int depth = 0;
+			int count = 0;
+			for (int index = start; index < source.length(); index++) {
+				char c = source.charAt(index);
+				if (c == '"') {
+					index = this.skipString(index);
+				} else if (c == '[' || c == '{') {
+					if (count == this.ends.length) {
+						this.ends = Arrays.copyOf(this.ends, count * 2);
+						this.nexts = Arrays.copyOf(this.nexts, count * 2);
+					}
+					if (depth == stack.length) {
+						stack = Arrays.copyOf(stack, depth * 2);
+					}
+					stack[depth++] = count++;
+				} else if (c == ']' || c == '}') {
+					int container = stack[--depth];
+					this.ends[container] = index + 1;
+					this.nexts[container] = count;
+					if (depth == 0) {
+						return;
+					}
+				}
+			}
+			throw new JsonSyntaxException("Expected closing bracket but found " + JsonToken.END_OF_INPUT.getName() + " at index " + source.length());
+		}
+		
+		private int skipString(int quote) {
+			for (int index = quote + 1; index < this.source.length(); index++) {
+				char c = this.source.charAt(index);
+				if (c == '\\') {
+					index++;
+				} else if (c == '"') {
+					return index;
+				}
+			}
+			throw new JsonSyntaxException("Json string starting at index " + quote + " is not terminated");
+		}
+		
+		/**
+		 * @param container The number of the container
+		 * @return The index after the closing bracket of the container
+		 */
+		private int end(int container) {
+			return this.ends[container];
+		}
+		
+		/**
+		 * @param container The number of the container
+		 * @return The number of the first container after the given container and all containers nested in it
+		 */
+		private int next(int container) {
+			return this.nexts[container];
+		}
+	}
+	//endregion
+}
@@ -0,0 +1,312 @@
+package net.luis.data.json;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Insertion ordered map which is used as the default storage of a {@link JsonObject}.<br>
+ * The entries are stored in parallel arrays in insertion order, an open addressing table with linear probing
+ * maps the cached hash of a key to the index of its entry.<br>
+ * Lookups compare the cached hashes first, so the keys are only compared if the hashes are equal
+ *
+ * @author Luis-St
+ */
+
+@ApiStatus.Internal
+final class JsonMap extends AbstractMap<String, Json> {
+	
+	private static final int DEFAULT_CAPACITY = 8;
+	private static final int FREE = 0;
+	private static final int REMOVED = -1;
+	
+	private String[] keys;
+	private Json[] values;
+	private int[] hashes;
+	private int[] table;
+	private int count;
+	private int size;
+	private int modCount;
+	private Set<Map.Entry<String, Json>> entrySet;
+	
+	/**
+	 * Constructs a new empty {@link JsonMap}
+	 */
+	JsonMap() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructs a new empty {@link JsonMap} which can hold the given number of entries without resizing
+	 * @param capacity The initial capacity
+	 * @throws IllegalArgumentException If the capacity is negative
+	 */
+	JsonMap(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.allocate(Math.max(DEFAULT_CAPACITY, capacity));
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof String string && this.indexOf(string) >= 0;
+	}
+	
+	@Override
+	public Json get(Object key) {
+		if (key instanceof String string) {
+			int index = this.indexOf(string);
+			return index < 0 ? null : this.values[index];
+		}
+		return null;
+	}
+	
+	@Override
+	public Json put(String key, Json value) {
+		Objects.requireNonNull(key, "Json key must not be null");
+		int hash = hash(key);
+		int slot = this.findSlot(key, hash);
+		if (slot >= 0) {
+			int index = this.table[slot] - 1;
+			Json previous = this.values[index];
+			this.values[index] = value;
+			return previous;
+		}
+		if (this.count == this.keys.length) {
+			this.rebuild(this.size < this.keys.length / 2 ? this.keys.length : this.keys.length * 2);
+		}
+		int index = this.count++;
+		this.keys[index] = key;
+		this.values[index] = value;
+		this.hashes[index] = hash;
+		this.insert(hash, index);
+		this.size++;
+		this.modCount++;
+		return null;
+	}
+	
+	@Override
+	public Json remove(Object key) {
+		if (key instanceof String string) {
+			int slot = this.findSlot(string, hash(string));
+			if (slot >= 0) {
+				return this.removeAt(slot);
+			}
+		}
+		return null;
+	}
+	
+	@Override
+	public void clear() {
+		Arrays.fill(this.keys, 0, this.count, null);
+		Arrays.fill(this.values, 0, this.count, null);
+		Arrays.fill(this.table, FREE);
+		this.count = 0;
+		this.size = 0;
+		this.modCount++;
+	}
+	
+	@Override
+	public @NotNull Set<Map.Entry<String, Json>> entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new EntrySet();
+		}
+		return this.entrySet;
+	}
+	
+	//region Helper methods
+	private static int hash(String key) {
+		int hash = key.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+	
+	private int indexOf(String key) {
+		int slot = this.findSlot(key, hash(key));
+		return slot < 0 ? -1 : this.table[slot] - 1;
+	}
+	
+	private int findSlot(String key, int hash) {
+		int mask = this.table.length - 1;
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			int entry = this.table[slot];
+			if (entry == FREE) {
+				return -1;
+			}
+			if (entry != REMOVED) {
+				int index = entry - 1;
+				if (this.hashes[index] == hash && key.equals(this.keys[index])) {
+					return slot;
+				}
+			}
+		}
+	}
+	
+	private void insert(int hash, int index) {
+		int mask = this.table.length - 1;
+		int slot = hash & mask;
+		while (this.table[slot] > FREE) {
+			slot = (slot + 1) & mask;
+		}
+		this.table[slot] = index + 1;
+	}
+	
+	private Json removeAt(int slot) {
+		int index = this.table[slot] - 1;
+		Json previous = this.values[index];
+		this.table[slot] = REMOVED;
+		this.keys[index] = null;
+		this.values[index] = null;
+		this.size--;
+		this.modCount++;
+		return previous;
+	}
+	
+	private void allocate(int capacity) {
+		this.keys = new String[capacity];
+		this.values = new Json[capacity];
+		this.hashes = new int[capacity];
+		this.table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+	}
+	
+	private void rebuild(int capacity) {
+		String[] oldKeys = this.keys;
+		Json[] oldValues = this.values;
+		int[] oldHashes = this.hashes;
+		int oldCount = this.count;
+		this.allocate(capacity);
+		this.count = 0;
+		for (int i = 0; i < oldCount; i++) {
+			if (oldKeys[i] != null) {
+				int index = this.count++;
+				this.keys[index] = oldKeys[i];
+				this.values[index] = oldValues[i];
+				this.hashes[index] = oldHashes[i];
+				this.insert(oldHashes[i], index);
+			}
+		}
+	}
+	//endregion
+	
+	//region Entry set
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Json>> {
+		
+		@Override
+		public int size() {
+			return JsonMap.this.size;
+		}
+		
+		@Override
+		public void clear() {
+			JsonMap.this.clear();
+		}
+		
+		@Override
+		public @NotNull Iterator<Map.Entry<String, Json>> iterator() {
+			return new EntryIterator();
+		}
+	}
+	
+	private final class EntryIterator implements Iterator<Map.Entry<String, Json>> {
+		
+		private int next;
+		private int last = -1;
+		private int expectedModCount = JsonMap.this.modCount;
+		
+		@Override
+		public boolean hasNext() {
+			while (this.next < JsonMap.this.count && JsonMap.this.keys[this.next] == null) {
+				this.next++;
+			}
+			return this.next < JsonMap.this.count;
+		}
+		
+		@Override
+		public Map.Entry<String, Json> next() {
+			if (JsonMap.this.modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next++;
+			return new Entry(this.last);
+		}
+		
+		@Override
+		public void remove() {
+			if (this.last < 0) {
+				throw new IllegalStateException();
+			}
+			if (JsonMap.this.modCount != this.expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			String key = JsonMap.this.keys[this.last];
+			JsonMap.this.removeAt(JsonMap.this.findSlot(key, JsonMap.this.hashes[this.last]));
+			this.expectedModCount = JsonMap.this.modCount;
+			this.last = -1;
+		}
+	}
+	
+	private final class Entry implements Map.Entry<String, Json> {
+		
+		private final int index;
+		private final String key;
+		
+		private Entry(int index) {
+			this.index = index;
+			this.key = JsonMap.this.keys[index];
+		}
+		
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+		
+		@Override
+		public Json getValue() {
+			return this.isLive() ? JsonMap.this.values[this.index] : null;
+		}
+		
+		@Override
+		public Json setValue(Json value) {
+			if (!this.isLive()) {
+				throw new IllegalStateException("Entry is no longer part of the map");
+			}
+			Json previous = JsonMap.this.values[this.index];
+			JsonMap.this.values[this.index] = value;
+			return previous;
+		}
+		
+		private boolean isLive() {
+			return this.index < JsonMap.this.count && this.key == JsonMap.this.keys[this.index];
+		}
+		
+		//region Object overrides
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Map.Entry<?, ?> that)) return false;
+			
+			return Objects.equals(this.key, that.getKey()) && Objects.equals(this.getValue(), that.getValue());
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(this.key) ^ Objects.hashCode(this.getValue());
+		}
+		
+		@Override
+		public String toString() {
+			return this.key + "=" + this.getValue();
+		}
+		//endregion
+	}
+	//endregion
+}
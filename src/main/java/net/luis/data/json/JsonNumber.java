@@ -3,25 +3,156 @@ package net.luis.data.json;
 import net.luis.data.json.config.JsonConfig;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Json element that represents a number
+ * Json element that represents a number.<br>
+ * The number is stored specialized as a primitive long, a primitive double or a {@link BigDecimal},
+ * so integral values keep their full precision and the primitive getters do not allocate
  *
  * @author Luis-St
  */
 
 public final class JsonNumber extends JsonPrimitive {
 	
-	private final Number value;
+	private static final long NEGATIVE_ZERO = Double.doubleToRawLongBits(-0.0);
+	private static final int MAX_DOUBLE_DIGITS = 15;
+	private static final int CACHE_LOW = -128;
+	private static final JsonNumber[] CACHE = new JsonNumber[1024 - CACHE_LOW];
+	
+	static {
+		for (int i = 0; i < CACHE.length; i++) {
+			CACHE[i] = new JsonNumber(Kind.LONG, i + CACHE_LOW, null);
+		}
+	}
+	
+	private final Kind kind;
+	private final long bits;
+	private final BigDecimal decimal;
+	
+	//region Constructors
 	
 	/**
-	 * Constructs a {@link JsonNumber} with the given value
+	 * Constructs a {@link JsonNumber} with the given value.<br>
+	 * Integral values are stored as long, floating point values as double and big numbers as {@link BigDecimal}
 	 * @param value The value of the json number
 	 * @throws NullPointerException If the value is null
 	 */
 	public JsonNumber(Number value) {
-		this.value = Objects.requireNonNull(value);
+		Objects.requireNonNull(value, "Json number must not be null");
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte || value instanceof AtomicLong || value instanceof AtomicInteger) {
+			this.kind = Kind.LONG;
+			this.bits = value.longValue();
+			this.decimal = null;
+		} else if (value instanceof BigDecimal || value instanceof BigInteger) {
+			this.kind = Kind.DECIMAL;
+			this.bits = 0;
+			this.decimal = value instanceof BigInteger integer ? new BigDecimal(integer) : (BigDecimal) value;
+		} else {
+			this.kind = Kind.DOUBLE;
+			this.bits = Double.doubleToRawLongBits(value.doubleValue());
+			this.decimal = null;
+		}
+	}
+	
+	/**
+	 * Constructs a {@link JsonNumber} with the given long value
+	 * @param value The value of the json number
+	 */
+	public JsonNumber(long value) {
+		this(Kind.LONG, value, null);
+	}
+	
+	/**
+	 * Constructs a {@link JsonNumber} with the given double value
+	 * @param value The value of the json number
+	 */
+	public JsonNumber(double value) {
+		this(Kind.DOUBLE, Double.doubleToRawLongBits(value), null);
+	}
+	
+	/**
+	 * Constructs a {@link JsonNumber} with the given decimal value
+	 * @param value The value of the json number
+	 * @throws NullPointerException If the value is null
+	 */
+	public JsonNumber(BigDecimal value) {
+		this(Kind.DECIMAL, 0, Objects.requireNonNull(value, "Json number must not be null"));
+	}
+	
+	private JsonNumber(Kind kind, long bits, BigDecimal decimal) {
+		this.kind = kind;
+		this.bits = bits;
+		this.decimal = decimal;
+	}
+	//endregion
+	
+	/**
+	 * Gets a {@link JsonNumber} with the given long value.<br>
+	 * Values from -128 to 1023 are shared instances, other values create a new json number
+	 * @param value The value of the json number
+	 * @return The json number
+	 */
+	public static @NotNull JsonNumber valueOf(long value) {
+		if (CACHE_LOW <= value && value < CACHE_LOW + CACHE.length) {
+			return CACHE[(int) value - CACHE_LOW];
+		}
+		return new JsonNumber(Kind.LONG, value, null);
+	}
+	
+	/**
+	 * Parses the given number lexeme into a {@link JsonNumber}.<br>
+	 * Integral lexemes are stored as long or as {@link BigDecimal} if they do not fit into a long,
+	 * decimal lexemes are stored as double or as {@link BigDecimal} if a double can not represent them exactly in their shortest form.<br>
+	 * Small integral values are shared instances, see {@link #valueOf(long)}
+	 * @param value The number lexeme
+	 * @return The parsed json number
+	 * @throws NullPointerException If the value is null
+	 * @throws NumberFormatException If the value is not a number
+	 */
+	public static @NotNull JsonNumber parse(CharSequence value) {
+		Objects.requireNonNull(value, "Json number must not be null");
+		int length = value.length();
+		int digits = 0;
+		boolean integral = true;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if ('0' <= c && c <= '9') {
+				if (digits > 0 || c != '0') {
+					digits++;
+				}
+			} else if (c == '.') {
+				integral = false;
+			} else if (c == 'e' || c == 'E') {
+				integral = false;
+				break;
+			} else if (i > 0 || (c != '-' && c != '+')) {
+				return new JsonNumber(Double.parseDouble(value.toString()));
+			}
+		}
+		if (integral) {
+			if (digits < 19) {
+				return valueOf(Long.parseLong(value, 0, length, 10));
+			}
+			String string = value.toString();
+			try {
+				return new JsonNumber(Long.parseLong(string));
+			} catch (NumberFormatException e) {
+				return new JsonNumber(new BigDecimal(string));
+			}
+		}
+		String string = value.toString();
+		double parsed = Double.parseDouble(string);
+		if (Double.isInfinite(parsed) || (digits > MAX_DOUBLE_DIGITS && BigDecimal.valueOf(parsed).compareTo(new BigDecimal(string)) != 0)) {
+			return new JsonNumber(new BigDecimal(string));
+		}
+		return new JsonNumber(parsed);
 	}
 	
 	@Override
@@ -31,28 +162,78 @@ public final class JsonNumber extends JsonPrimitive {
 	
 	@Override
 	public @NotNull JsonNumber copy() {
-		return new JsonNumber(this.value);
+		return new JsonNumber(this.kind, this.bits, this.decimal);
 	}
 	
 	//region Getters
+	
+	/**
+	 * @return True if the value is stored as a long
+	 */
+	public boolean isLong() {
+		return this.kind == Kind.LONG;
+	}
+	
+	/**
+	 * @return True if the value is stored as a double
+	 */
+	public boolean isDouble() {
+		return this.kind == Kind.DOUBLE;
+	}
+	
+	/**
+	 * @return True if the value is stored as a {@link BigDecimal}
+	 */
+	public boolean isDecimal() {
+		return this.kind == Kind.DECIMAL;
+	}
+	
 	@Override
 	public Number getAsNumber() {
-		return this.value;
+		return switch (this.kind) {
+			case LONG -> this.bits;
+			case DOUBLE -> Double.longBitsToDouble(this.bits);
+			case DECIMAL -> this.decimal;
+		};
 	}
 	
 	@Override
 	public int getAsInt() {
-		return this.value.intValue();
+		return switch (this.kind) {
+			case LONG -> (int) this.bits;
+			case DOUBLE -> (int) Double.longBitsToDouble(this.bits);
+			case DECIMAL -> this.decimal.intValue();
+		};
 	}
 	
 	@Override
 	public long getAsLong() {
-		return this.value.longValue();
+		return switch (this.kind) {
+			case LONG -> this.bits;
+			case DOUBLE -> (long) Double.longBitsToDouble(this.bits);
+			case DECIMAL -> this.decimal.longValue();
+		};
 	}
 	
 	@Override
 	public double getAsDouble() {
-		return this.value.doubleValue();
+		return switch (this.kind) {
+			case LONG -> this.bits;
+			case DOUBLE -> Double.longBitsToDouble(this.bits);
+			case DECIMAL -> this.decimal.doubleValue();
+		};
+	}
+	
+	/**
+	 * @return The value of the {@link BigDecimal}, converted from the long or double value if necessary
+	 * @throws NumberFormatException If the value is a double which is not finite
+	 */
+	public @NotNull BigDecimal getAsBigDecimal() {
+		return switch (this.kind) {
+			case LONG -> BigDecimal.valueOf(this.bits);
+			case DOUBLE -> BigDecimal.valueOf(Double.longBitsToDouble(this.bits));
+			case DECIMAL -> this.decimal;
+		};
 	}
 	
 	/**
@@ -60,28 +241,125 @@ public final class JsonNumber extends JsonPrimitive {
 	 */
 	@Override
 	public String getAsString() {
-		String value = Double.toString(this.getAsDouble());
-		return value.endsWith(".0") ? value.substring(0, value.length() - 2) : value;
+		return switch (this.kind) {
+			case LONG -> Long.toString(this.bits);
+			case DOUBLE -> {
+				String value = Double.toString(Double.longBitsToDouble(this.bits));
+				yield value.endsWith(".0") ? value.substring(0, value.length() - 2) : value;
+			}
+			case DECIMAL -> this.decimal.toString();
+		};
 	}
 	//endregion
 	
+	/**
+	 * Writes the value of this json number into the given writer.<br>
+	 * Long values and integral double values are written digit by digit without creating an intermediate string
+	 * @param writer The writer to write to
+	 * @throws NullPointerException If the writer is null
+	 * @throws IOException If an I/O error occurs
+	 */
+	public void write(Writer writer) throws IOException {
+		Objects.requireNonNull(writer, "Writer must not be null");
+		switch (this.kind) {
+			case LONG -> writeLong(writer, this.bits);
+			case DOUBLE -> {
+				double value = Double.longBitsToDouble(this.bits);
+				if (Math.abs(value) < 1.0E7 && value == (long) value && this.bits != NEGATIVE_ZERO) {
+					writeLong(writer, (long) value);
+				} else {
+					String string = Double.toString(value);
+					writer.write(string, 0, string.endsWith(".0") ? string.length() - 2 : string.length());
+				}
+			}
+			case DECIMAL -> writer.write(this.decimal.toString());
+		}
+	}
+	
 	@Override
 	public @NotNull String toString(JsonConfig config) {
 		return this.getAsString();
 	}
 	
+	//region Helper methods
+	private boolean isFinite() {
+		return this.kind != Kind.DOUBLE || Double.isFinite(Double.longBitsToDouble(this.bits));
+	}
+	
+	private @NotNull BigDecimal exact() {
+		return switch (this.kind) {
+			case LONG -> BigDecimal.valueOf(this.bits);
+			case DOUBLE -> new BigDecimal(Double.longBitsToDouble(this.bits));
+			case DECIMAL -> this.decimal;
+		};
+	}
+	
+	private static int hashDecimal(BigDecimal value) {
+		if (0 >= value.scale() && value.precision() - value.scale() <= 19) {
+			try {
+				return Long.hashCode(value.longValueExact());
+			} catch (ArithmeticException e) {
+				return value.hashCode();
+			}
+		}
+		return value.hashCode();
+	}
+	
+	private static void writeLong(Writer writer, long value) throws IOException {
+		if (value == Long.MIN_VALUE) {
+			writer.write("-9223372036854775808");
+			return;
+		}
+		char[] buffer = new char[20];
+		int index = buffer.length;
+		long remaining = Math.abs(value);
+		do {
+			buffer[--index] = (char) ('0' + remaining % 10);
+			remaining /= 10;
+		} while (remaining != 0);
+		if (value < 0) {
+			buffer[--index] = '-';
+		}
+		writer.write(buffer, index, buffer.length - index);
+	}
+	//endregion
+	
 	//region Object overrides
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
 		if (!(o instanceof JsonNumber that)) return false;
 		
-		return this.value.equals(that.value);
+		if (this.kind == Kind.LONG && that.kind == Kind.LONG) {
+			return this.bits == that.bits;
+		} else if (this.kind == Kind.DOUBLE && that.kind == Kind.DOUBLE) {
+			double value = Double.longBitsToDouble(this.bits);
+			double other = Double.longBitsToDouble(that.bits);
+			return value == other || (Double.isNaN(value) && Double.isNaN(other));
+		} else if (!this.isFinite() || !that.isFinite()) {
+			return false;
+		}
+		return this.exact().compareTo(that.exact()) == 0;
 	}
 	
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.value);
+		return switch (this.kind) {
+			case LONG -> Long.hashCode(this.bits);
+			case DOUBLE -> {
+				double value = Double.longBitsToDouble(this.bits);
+				if (!Double.isFinite(value)) {
+					yield Double.hashCode(value);
+				}
+				yield value == (long) value && Math.abs(value) < 0x1p63 ? Long.hashCode((long) value) : hashDecimal(new BigDecimal(value).stripTrailingZeros());
+			}
+			case DECIMAL -> hashDecimal(this.decimal.stripTrailingZeros());
+		};
 	}
 	//endregion
+	
+	private enum Kind {
+		
+		LONG, DOUBLE, DECIMAL
+	}
 }
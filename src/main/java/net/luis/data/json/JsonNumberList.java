@@ -0,0 +1,252 @@
+package net.luis.data.json;
+
+import com.google.common.collect.Lists;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Packed storage of a {@link JsonArray} which only contains {@link JsonNumber json numbers} of the same kind.<br>
+ * The values are stored in a growing primitive array, elements are only created when they are accessed as {@link Json}
+ *
+ * @author Luis-St
+ */
+
+@ApiStatus.Internal
+abstract sealed class JsonNumberList extends AbstractList<Json> implements RandomAccess permits JsonNumberList.Longs, JsonNumberList.Doubles {
+	
+	private static final int DEFAULT_CAPACITY = 10;
+	
+	protected int size;
+	
+	/**
+	 * Creates a packed list for the given element if it is a json number which can be packed
+	 * @param element The first element of the list
+	 * @return A new empty packed list which accepts the element or null if the element can not be packed
+	 */
+	static @Nullable JsonNumberList of(Json element) {
+		if (element instanceof JsonNumber number) {
+			if (number.isLong()) {
+				return new Longs(new long[DEFAULT_CAPACITY], 0);
+			} else if (number.isDouble()) {
+				return new Doubles(new double[DEFAULT_CAPACITY], 0);
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @param element The element to check
+	 * @return True if the element can be stored in this list without losing its kind
+	 */
+	abstract boolean accepts(Json element);
+	
+	abstract long getAsLong(int index);
+	
+	abstract double getAsDouble(int index);
+	
+	abstract long[] toLongArray();
+	
+	abstract double[] toDoubleArray();
+	
+	abstract @NotNull JsonNumberList copy();
+	
+	/**
+	 * @return A generic list which contains the elements of this list
+	 */
+	@NotNull List<Json> unpack() {
+		return Lists.newArrayList(this);
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	//region Helper methods
+	protected int grow(int capacity) {
+		return Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1));
+	}
+	
+	protected static @NotNull JsonNumber requireNumber(Json element) {
+		if (element instanceof JsonNumber number) {
+			return number;
+		}
+		throw new IllegalArgumentException("Packed json array does not accept " + element.getName());
+	}
+	//endregion
+	
+	//region Longs
+	static final class Longs extends JsonNumberList {
+		
+		private long[] values;
+		
+		Longs(long[] values, int size) {
+			this.values = values;
+			this.size = size;
+		}
+		
+		@Override
+		boolean accepts(Json element) {
+			return element instanceof JsonNumber number && number.isLong();
+		}
+		
+		@Override
+		long getAsLong(int index) {
+			return this.values[Objects.checkIndex(index, this.size)];
+		}
+		
+		@Override
+		double getAsDouble(int index) {
+			return this.values[Objects.checkIndex(index, this.size)];
+		}
+		
+		@Override
+		long[] toLongArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+		
+		@Override
+		double[] toDoubleArray() {
+			double[] array = new double[this.size];
+			for (int i = 0; i < this.size; i++) {
+				array[i] = this.values[i];
+			}
+			return array;
+		}
+		
+		@Override
+		@NotNull JsonNumberList copy() {
+			return new Longs(this.toLongArray(), this.size);
+		}
+		
+		@Override
+		public Json get(int index) {
+			return JsonNumber.valueOf(this.getAsLong(index));
+		}
+		
+		@Override
+		public Json set(int index, Json element) {
+			Json previous = this.get(index);
+			this.values[index] = requireNumber(element).getAsLong();
+			return previous;
+		}
+		
+		@Override
+		public void add(int index, Json element) {
+			long value = requireNumber(element).getAsLong();
+			Objects.checkIndex(index, this.size + 1);
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.grow(this.size));
+			}
+			System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+			this.values[index] = value;
+			this.size++;
+			this.modCount++;
+		}
+		
+		@Override
+		public Json remove(int index) {
+			Json previous = this.get(index);
+			System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+			this.size--;
+			this.modCount++;
+			return previous;
+		}
+		
+		@Override
+		public void clear() {
+			this.size = 0;
+			this.modCount++;
+		}
+	}
+	//endregion
+	
+	//region Doubles
+	static final class Doubles extends JsonNumberList {
+		
+		private double[] values;
+		
+		Doubles(double[] values, int size) {
+			this.values = values;
+			this.size = size;
+		}
+		
+		@Override
+		boolean accepts(Json element) {
+			return element instanceof JsonNumber number && number.isDouble();
+		}
+		
+		@Override
+		long getAsLong(int index) {
+			return (long) this.values[Objects.checkIndex(index, this.size)];
+		}
+		
+		@Override
+		double getAsDouble(int index) {
+			return this.values[Objects.checkIndex(index, this.size)];
+		}
+		
+		@Override
+		long[] toLongArray() {
+			long[] array = new long[this.size];
+			for (int i = 0; i < this.size; i++) {
+				array[i] = (long) this.values[i];
+			}
+			return array;
+		}
+		
+		@Override
+		double[] toDoubleArray() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+		
+		@Override
+		@NotNull JsonNumberList copy() {
+			return new Doubles(this.toDoubleArray(), this.size);
+		}
+		
+		@Override
+		public Json get(int index) {
+			return new JsonNumber(this.getAsDouble(index));
+		}
+		
+		@Override
+		public Json set(int index, Json element) {
+			Json previous = this.get(index);
+			this.values[index] = requireNumber(element).getAsDouble();
+			return previous;
+		}
+		
+		@Override
+		public void add(int index, Json element) {
+			double value = requireNumber(element).getAsDouble();
+			Objects.checkIndex(index, this.size + 1);
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.grow(this.size));
+			}
+			System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+			this.values[index] = value;
+			this.size++;
+			this.modCount++;
+		}
+		
+		@Override
+		public Json remove(int index) {
+			Json previous = this.get(index);
+			System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+			this.size--;
+			this.modCount++;
+			return previous;
+		}
+		
+		@Override
+		public void clear() {
+			this.size = 0;
+			this.modCount++;
+		}
+	}
+	//endregion
+}
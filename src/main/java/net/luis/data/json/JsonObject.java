@@ -1,33 +1,77 @@
 package net.luis.data.json;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import net.luis.data.internal.io.Writable;
 import net.luis.data.json.config.JsonConfig;
 import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.io.JsonGenerator;
 import net.luis.data.json.io.JsonWriter;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.io.StringWriter;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
- * Json element that represents a json object
+ * Json element that represents a json object.<br>
+ * A json object can be {@link #freeze() frozen}, a frozen json object and all of its children can not be modified,
+ * so it can be shared between threads without copying it.<br>
+ * Frozen json objects are updated with {@link #with(String, Json)} and {@link #without(String)},
+ * which create a new frozen json object that shares all unchanged children with this json object
  *
  * @author Luis-St
  */
 
 public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>, Writable<JsonWriter> {
 	
-	private final Map<String, Json> elements = Maps.newTreeMap();
+	private final Supplier<? extends Map<String, Json>> storage;
+	private final Map<String, Json> elements;
+	private final boolean frozen;
 	
 	//region Constructors
 	
 	/**
-	 * Constructs a new empty {@link JsonObject}
+	 * Constructs a new empty {@link JsonObject} which keeps its elements in insertion order
 	 */
 	public JsonObject() {
-		super();
+		this(JsonMap::new);
+	}
+	
+	/**
+	 * Constructs a new empty {@link JsonObject} which keeps its elements in a map created by the given storage supplier.<br>
+	 * The storage supplier is also used for copies of this json object, e.g. {@code TreeMap::new} keeps the elements sorted by key
+	 * @param storage The supplier of the backing map
+	 * @throws NullPointerException If the storage supplier is null or supplies null
+	 * @throws IllegalArgumentException If the supplied map is not empty
+	 */
+	public JsonObject(Supplier<? extends Map<String, Json>> storage) {
+		this.storage = Objects.requireNonNull(storage, "Json storage must not be null");
+		this.elements = Objects.requireNonNull(storage.get(), "Json storage must not supply null");
+		this.frozen = false;
+		if (!this.elements.isEmpty()) {
+			throw new IllegalArgumentException("Json storage must supply an empty map");
+		}
+	}
+	
+	/**
+	 * Constructs a new {@link JsonObject} which uses the given map as its storage
+	 * @param elements The storage of the json object
+	 */
+	JsonObject(Map<String, Json> elements) {
+		this(JsonMap::new, elements, false);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonObject} with the given elements.<br>
+	 * The elements are kept in a final field, so a frozen json object is safely published to other threads
+	 * @param storage The supplier of the backing map
+	 * @param elements The elements of the json object, which must not be modified afterwards if the json object is frozen
+	 * @param frozen Whether the json object is frozen
+	 */
+	private JsonObject(Supplier<? extends Map<String, Json>> storage, Map<String, Json> elements, boolean frozen) {
+		this.storage = storage;
+		this.elements = elements;
+		this.frozen = frozen;
 	}
 	
 	/**
@@ -36,6 +80,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The value of the element
 	 */
 	public JsonObject(String key, Json value) {
+		this();
 		this.add(key, value);
 	}
 	
@@ -45,6 +90,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The string value
 	 */
 	public JsonObject(String key, String value) {
+		this();
 		this.add(key, value);
 	}
 	
@@ -54,6 +100,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The number value
 	 */
 	public JsonObject(String key, Number value) {
+		this();
 		this.add(key, value);
 	}
 	
@@ -63,6 +110,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The boolean value
 	 */
 	public JsonObject(String key, boolean value) {
+		this();
 		this.add(key, value);
 	}
 	
@@ -72,6 +120,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The json object value
 	 */
 	public JsonObject(String key, JsonObject value) {
+		this();
 		this.add(key, value);
 	}
 	//endregion
@@ -95,13 +144,67 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	
 	@Override
 	public @NotNull JsonObject copy() {
-		JsonObject object = new JsonObject();
+		JsonObject object = new JsonObject(this.storage);
 		for (Map.Entry<String, Json> entry : this.elements.entrySet()) {
 			object.add(entry.getKey(), entry.getValue().copy());
 		}
 		return object;
 	}
 	
+	//region Freezing
+	
+	/**
+	 * Freezes this json object and all of its children
+	 * @return A frozen copy of this json object or this json object if it is already frozen
+	 */
+	@Override
+	public @NotNull JsonObject freeze() {
+		if (this.frozen) {
+			return this;
+		}
+		Map<String, Json> elements = this.storage.get();
+		for (Map.Entry<String, Json> entry : this.elements.entrySet()) {
+			elements.put(entry.getKey(), entry.getValue().freeze());
+		}
+		return this.frozen(elements);
+	}
+	
+	@Override
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	
+	/**
+	 * Creates a frozen json object which contains the elements of this json object and the given element.<br>
+	 * The children of this json object are not copied, they are shared with the new json object
+	 * @param key The key of the element, an existing element with the key is replaced
+	 * @param value The json element, null is stored as {@link JsonNull}
+	 * @return The new frozen json object
+	 * @throws NullPointerException If the key is null
+	 * @throws IllegalArgumentException If the key is empty
+	 */
+	public @NotNull JsonObject with(String key, Json value) {
+		Map<String, Json> elements = this.frozenElements();
+		elements.put(validateKey(key), value == null ? JsonNull.INSTANCE : value.freeze());
+		return this.frozen(elements);
+	}
+	
+	/**
+	 * Creates a frozen json object which contains the elements of this json object without the element with the given key.<br>
+	 * The children of this json object are not copied, they are shared with the new json object
+	 * @param key The key of the element to remove
+	 * @return The new frozen json object
+	 */
+	public @NotNull JsonObject without(String key) {
+		if (!this.elements.containsKey(key)) {
+			return this.freeze();
+		}
+		Map<String, Json> elements = this.frozenElements();
+		elements.remove(key);
+		return this.frozen(elements);
+	}
+	//endregion
+	
 	//region Adders
 	
 	/**
@@ -110,9 +213,10 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The json element
 	 * @throws NullPointerException If the key is null
 	 * @throws IllegalArgumentException If the key is empty
+	 * @throws UnsupportedOperationException If this json object is frozen
 	 */
 	public void add(String key, Json value) {
-		this.elements.put(validateKey(key), value == null ? JsonNull.INSTANCE : value);
+		this.mutableElements().put(validateKey(key), value == null ? JsonNull.INSTANCE : value);
 	}
 	
 	/**
@@ -121,9 +225,10 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The string value
 	 * @throws NullPointerException If the key is null
 	 * @throws IllegalArgumentException If the key is empty
+	 * @throws UnsupportedOperationException If this json object is frozen
 	 */
 	public void add(String key, String value) {
-		this.elements.put(validateKey(key), value == null ? JsonNull.INSTANCE : new JsonString(value));
+		this.mutableElements().put(validateKey(key), value == null ? JsonNull.INSTANCE : new JsonString(value));
 	}
 	
 	/**
@@ -132,9 +237,10 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The number value
 	 * @throws NullPointerException If the key is null
 	 * @throws IllegalArgumentException If the key is empty
+	 * @throws UnsupportedOperationException If this json object is frozen
 	 */
 	public void add(String key, Number value) {
-		this.elements.put(validateKey(key), value == null ? JsonNull.INSTANCE : new JsonNumber(value));
+		this.mutableElements().put(validateKey(key), value == null ? JsonNull.INSTANCE : new JsonNumber(value));
 	}
 	
 	/**
@@ -143,9 +249,10 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The boolean value
 	 * @throws NullPointerException If the key is null
 	 * @throws IllegalArgumentException If the key is empty
+	 * @throws UnsupportedOperationException If this json object is frozen
 	 */
 	public void add(String key, boolean value) {
-		this.elements.put(validateKey(key), new JsonBoolean(value));
+		this.mutableElements().put(validateKey(key), new JsonBoolean(value));
 	}
 	
 	/**
@@ -154,9 +261,10 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The json array
 	 * @throws NullPointerException If the key is null
 	 * @throws IllegalArgumentException If the key is empty
+	 * @throws UnsupportedOperationException If this json object is frozen
 	 */
 	public void add(String key, JsonArray value) {
-		this.elements.put(validateKey(key), value == null ? JsonNull.INSTANCE : value);
+		this.mutableElements().put(validateKey(key), value == null ? JsonNull.INSTANCE : value);
 	}
 	
 	/**
@@ -165,9 +273,10 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @param value The json object
 	 * @throws NullPointerException If the key is null
 	 * @throws IllegalArgumentException If the key is empty
+	 * @throws UnsupportedOperationException If this json object is frozen
 	 */
 	public void add(String key, JsonObject value) {
-		this.elements.put(validateKey(key), value == null ? JsonNull.INSTANCE : value);
+		this.mutableElements().put(validateKey(key), value == null ? JsonNull.INSTANCE : value);
 	}
 	//endregion
 	
@@ -182,7 +291,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return The keys of the elements in this json object as an unmodifiable set
 	 */
 	public @NotNull Set<String> keySet() {
-		return this.elements.keySet();
+		return Collections.unmodifiableSet(this.elements.keySet());
 	}
 	
 	/**
@@ -201,10 +310,11 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public Json get(String key) {
-		if (this.has(key)) {
-			return this.elements.get(key);
+		Json json = this.elements.get(key);
+		if (json == null) {
+			throw new JsonException("No such json key: " + key);
 		}
-		throw new JsonException("No such json key: " + key);
+		return json;
 	}
 	
 	//region JsonArray
@@ -214,7 +324,8 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return True if this json object contains an element with the given key and it is a {@link JsonArray}, false otherwise
 	 */
 	public boolean isArray(String key) {
-		return this.has(key) && this.get(key).isArray();
+		Json json = this.elements.get(key);
+		return json != null && json.isArray();
 	}
 	
 	/**
@@ -224,10 +335,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public JsonArray getAsArray(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsArray();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsArray();
 	}
 	//endregion
 	
@@ -238,7 +346,8 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return True if this json object contains an element with the given key and it is a {@link JsonPrimitive}, false otherwise
 	 */
 	public boolean isPrimitive(String key) {
-		return this.has(key) && this.get(key).isPrimitive();
+		Json json = this.elements.get(key);
+		return json != null && json.isPrimitive();
 	}
 	
 	/**
@@ -248,10 +357,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public JsonPrimitive getAsPrimitive(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsPrimitive();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsPrimitive();
 	}
 	
 	/**
@@ -259,7 +365,8 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return True if this json object contains an element with the given key and it is a {@link JsonBoolean}, false otherwise
 	 */
 	public boolean isBoolean(String key) {
-		return this.has(key) && this.get(key).isBoolean();
+		Json json = this.elements.get(key);
+		return json != null && json.isBoolean();
 	}
 	
 	/**
@@ -269,10 +376,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public boolean getAsBoolean(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsBoolean();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsBoolean();
 	}
 	
 	/**
@@ -280,7 +384,8 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return True if this json object contains an element with the given key and it is a {@link JsonNumber}, false otherwise
 	 */
 	public boolean isNumber(String key) {
-		return this.has(key) && this.get(key).isNumber();
+		Json json = this.elements.get(key);
+		return json != null && json.isNumber();
 	}
 	
 	/**
@@ -290,10 +395,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public Number getAsNumber(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsNumber();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsNumber();
 	}
 	
 	/**
@@ -303,10 +405,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public int getAsInt(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsInt();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsInt();
 	}
 	
 	/**
@@ -316,10 +415,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public long getAsLong(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsLong();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsLong();
 	}
 	
 	/**
@@ -329,10 +425,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public double getAsDouble(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsDouble();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsDouble();
 	}
 	
 	/**
@@ -340,7 +433,8 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return True if this json object contains an element with the given key and it is a {@link JsonString}, false otherwise
 	 */
 	public boolean isString(String key) {
-		return this.has(key) && this.get(key).isString();
+		Json json = this.elements.get(key);
+		return json != null && json.isString();
 	}
 	
 	/**
@@ -350,10 +444,7 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public String getAsString(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsString();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsString();
 	}
 	//endregion
 	
@@ -364,7 +455,8 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @return True if this json object contains an element with the given key and it is a {@link JsonObject}, false otherwise
 	 */
 	public boolean isObject(String key) {
-		return this.has(key) && this.get(key).isObject();
+		Json json = this.elements.get(key);
+		return json != null && json.isObject();
 	}
 	
 	/**
@@ -374,15 +466,13 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 	 * @throws JsonException If this json object does not contain an element with the given key
 	 */
 	public JsonObject getAsObject(String key) {
-		if (this.has(key)) {
-			return this.get(key).getAsObject();
-		}
-		throw new JsonException("No such json key: " + key);
+		return this.get(key).getAsObject();
 	}
 	//endregion
 	
 	public boolean isNull(String key) {
-		return this.has(key) && this.get(key).isNull();
+		Json json = this.elements.get(key);
+		return json != null && json.isNull();
 	}
 	
 	@Override
@@ -395,31 +485,9 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 		if (this.elements.isEmpty()) {
 			return "{}";
 		}
-		Objects.requireNonNull(config, "Json config must not be null");
-		boolean simplify = JsonHelper.canBeSimplified(this.elements.values(), config.simplifyPrimitiveObjects());
-		List<String> values = Lists.newArrayList();
-		for (Map.Entry<String, Json> entry : this.elements.entrySet()) {
-			String key = JsonHelper.quote(entry.getKey(), config);
-			if (key.substring(1, key.length() - 1).isBlank() && !config.allowBlankKeys()) {
-				throw new JsonException("Key of value " + entry.getValue() + " is blank which is not allowed in this configuation");
-			}
-			if (config.prettyPrint()) {
-				if (simplify) {
-					values.add(key + ": " + entry.getValue().toString(config));
-				} else {
-					values.add(JsonHelper.correctIndents(entry.getValue(), config, key + ": "));
-				}
-			} else {
-				values.add(key + ":" + entry.getValue().toString(config));
-			}
-		}
-		if (!config.prettyPrint()) {
-			return "{" + String.join(",", values) + "}";
-		}
-		if (simplify) {
-			return "{" + String.join(", ", values) + "}";
-		}
-		return "{" + System.lineSeparator() + String.join("," + System.lineSeparator(), values) + System.lineSeparator() + config.indent() + "}";
+		StringWriter writer = new StringWriter();
+		new JsonGenerator(writer, Objects.requireNonNull(config, "Json config must not be null")).value(this);
+		return writer.toString();
 	}
 	
 	@Override
@@ -434,6 +502,25 @@ public final class JsonObject implements Json, Iterable<Map.Entry<String, Json>>
 		Objects.requireNonNull(writer, "Json writer must not be null").write(this);
 	}
 	
+	//region Helper methods
+	private @NotNull JsonObject frozen(Map<String, Json> elements) {
+		return new JsonObject(this.storage, Collections.unmodifiableMap(elements), true);
+	}
+	
+	private @NotNull Map<String, Json> mutableElements() {
+		if (this.frozen) {
+			throw new UnsupportedOperationException("Json object is frozen");
+		}
+		return this.elements;
+	}
+	
+	private @NotNull Map<String, Json> frozenElements() {
+		Map<String, Json> elements = this.storage.get();
+		elements.putAll(this.freeze().elements);
+		return elements;
+	}
+	//endregion
+	
 	//region Object overrides
 	@Override
 	public boolean equals(Object o) {
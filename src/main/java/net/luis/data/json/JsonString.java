@@ -1,13 +1,16 @@
 package net.luis.data.json;
 
 import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.exception.JsonException;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
 
 /**
- * Json element that represents a string
+ * Json element that represents a string.<br>
+ * The value is stored as it is written between the quotes in json, escape sequences are not decoded.<br>
+ * Use {@link #escape(String)} and {@link #unescape(String)} to convert between java strings and the value of a json string
  *
  * @author Luis-St
  */
@@ -25,6 +28,102 @@ public final class JsonString extends JsonPrimitive {
 		this.value = StringUtils.defaultString(value);
 	}
 	
+	/**
+	 * Escapes the given java string, so it can be used as the value of a json string.<br>
+	 * Quotes, backslashes and control characters are replaced by their escape sequences
+	 * @param value The string to escape
+	 * @return The escaped string or the given string if nothing has to be escaped
+	 * @throws NullPointerException If the value is null
+	 */
+	public static @NotNull String escape(String value) {
+		Objects.requireNonNull(value, "Value must not be null");
+		int index = 0;
+		while (index < value.length() && !needsEscape(value.charAt(index))) {
+			index++;
+		}
+		if (index == value.length()) {
+			return value;
+		}
+		StringBuilder builder = new StringBuilder(value.length() + 16).append(value, 0, index);
+		for (int i = index; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> builder.append("\\\"");
+				case '\\' -> builder.append("\\\\");
+				case '\b' -> builder.append("\\b");
+				case '\f' -> builder.append("\\f");
+				case '\n' -> builder.append("\\n");
+				case '\r' -> builder.append("\\r");
+				case '\t' -> builder.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						builder.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+					} else {
+						builder.append(c);
+					}
+				}
+			}
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Decodes the escape sequences of the given json string value into a java string
+	 * @param value The value of the json string
+	 * @return The decoded string or the given string if it does not contain escape sequences
+	 * @throws NullPointerException If the value is null
+	 * @throws JsonException If the value contains an invalid escape sequence
+	 */
+	public static @NotNull String unescape(String value) {
+		Objects.requireNonNull(value, "Value must not be null");
+		int index = value.indexOf('\\');
+		if (index == -1) {
+			return value;
+		}
+		StringBuilder builder = new StringBuilder(value.length()).append(value, 0, index);
+		for (int i = index; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c != '\\') {
+				builder.append(c);
+				continue;
+			}
+			if (++i == value.length()) {
+				throw new JsonException("Json string '" + value + "' ends with an incomplete escape sequence");
+			}
+			switch (value.charAt(i)) {
+				case '"' -> builder.append('"');
+				case '\\' -> builder.append('\\');
+				case '/' -> builder.append('/');
+				case 'b' -> builder.append('\b');
+				case 'f' -> builder.append('\f');
+				case 'n' -> builder.append('\n');
+				case 'r' -> builder.append('\r');
+				case 't' -> builder.append('\t');
+				case 'u' -> {
+					if (i + 4 >= value.length()) {
+						throw new JsonException("Json string '" + value + "' ends with an incomplete unicode escape sequence");
+					}
+					int code = 0;
+					for (int j = i + 1; j <= i + 4; j++) {
+						int digit = Character.digit(value.charAt(j), 16);
+						if (digit == -1) {
+							throw new JsonException("Json string '" + value + "' contains an invalid unicode escape sequence at index " + (i - 1));
+						}
+						code = (code << 4) | digit;
+					}
+					builder.append((char) code);
+					i += 4;
+				}
+				default -> throw new JsonException("Json string '" + value + "' contains an invalid escape sequence at index " + (i - 1));
+			}
+		}
+		return builder.toString();
+	}
+	
+	private static boolean needsEscape(char c) {
+		return c == '"' || c == '\\' || c < 0x20;
+	}
+	
 	@Override
 	public @NotNull String getName() {
 		return "json string";
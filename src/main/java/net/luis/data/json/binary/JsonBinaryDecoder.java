@@ -0,0 +1,223 @@
+package net.luis.data.json.binary;
+
+import com.google.common.collect.Lists;
+import net.luis.data.json.*;
+import net.luis.data.json.exception.JsonException;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decoder which reads a {@link Json} tree from the binary format written by the {@link JsonBinaryEncoder}.<br>
+ * The data is read with absolute offsets from a {@link ByteBuffer}, strings of a heap buffer are decoded directly from its backing array
+ * without copying the bytes into an intermediate array first.<br>
+ * Object keys are decoded once and the same string instance is shared by all objects which use the key
+ *
+ * @see JsonBinaryEncoder
+ *
+ * @author Luis-St
+ */
+
+public final class JsonBinaryDecoder {
+	
+	private final List<String> keys = Lists.newArrayList();
+	private final ByteBuffer buffer;
+	private final byte[] array;
+	private final int offset;
+	private final int limit;
+	private int position;
+	
+	private JsonBinaryDecoder(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.array = buffer.hasArray() ? buffer.array() : null;
+		this.offset = buffer.hasArray() ? buffer.arrayOffset() : 0;
+		this.limit = buffer.limit();
+		this.position = buffer.position();
+	}
+	
+	/**
+	 * Decodes a json element from the given bytes
+	 * @param bytes The encoded json element
+	 * @return The decoded json element
+	 * @throws NullPointerException If the bytes are null
+	 * @throws JsonException If the bytes are not a valid encoded json element
+	 */
+	public static @NotNull Json decode(byte[] bytes) {
+		Objects.requireNonNull(bytes, "Bytes must not be null");
+		return decode(ByteBuffer.wrap(bytes));
+	}
+	
+	/**
+	 * Decodes a json element from the remaining bytes of the given buffer.<br>
+	 * The position of the buffer is moved behind the decoded json element
+	 * @param buffer The buffer which contains the encoded json element
+	 * @return The decoded json element
+	 * @throws NullPointerException If the buffer is null
+	 * @throws JsonException If the buffer does not contain a valid encoded json element
+	 */
+	public static @NotNull Json decode(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer, "Buffer must not be null");
+		JsonBinaryDecoder decoder = new JsonBinaryDecoder(buffer);
+		for (byte b : JsonBinaryType.MAGIC) {
+			if (decoder.read() != b) {
+				throw new JsonException("Binary json has an invalid header or an unsupported version");
+			}
+		}
+		Json json = decoder.readValue();
+		buffer.position(decoder.position);
+		return json;
+	}
+	
+	//region Helper methods
+	private @NotNull Json readValue() {
+		byte type = this.read();
+		return switch (type) {
+			case JsonBinaryType.NULL -> JsonNull.INSTANCE;
+			case JsonBinaryType.FALSE -> JsonBoolean.FALSE;
+			case JsonBinaryType.TRUE -> JsonBoolean.TRUE;
+			case JsonBinaryType.LONG -> JsonNumber.valueOf(this.readZigZag());
+			case JsonBinaryType.DOUBLE -> new JsonNumber(Double.longBitsToDouble(this.readLong()));
+			case JsonBinaryType.DECIMAL -> this.readDecimal();
+			case JsonBinaryType.STRING -> new JsonString(this.readString(this.readLength()));
+			case JsonBinaryType.ARRAY -> this.readArray();
+			case JsonBinaryType.LONG_ARRAY -> this.readLongArray();
+			case JsonBinaryType.DOUBLE_ARRAY -> this.readDoubleArray();
+			case JsonBinaryType.OBJECT -> this.readObject();
+			default -> throw new JsonException("Unknown binary json type " + type + " at offset " + (this.position - 1));
+		};
+	}
+	
+	private @NotNull JsonObject readObject() {
+		int size = this.readCount(2);
+		JsonObject object = new JsonObject();
+		for (int i = 0; i < size; i++) {
+			long reference = this.readVarInt();
+			String key;
+			if (reference == 0) {
+				throw new JsonException("Binary json contains an empty key at offset " + this.position);
+			} else if ((reference & 1) == 0) {
+				key = this.readString(this.checkLength(reference >>> 1));
+				this.keys.add(key);
+			} else if (this.keys.size() > reference >>> 1) {
+				key = this.keys.get((int) (reference >>> 1));
+			} else {
+				throw new JsonException("Binary json references unknown key " + (reference >>> 1) + " at offset " + this.position);
+			}
+			object.add(key, this.readValue());
+		}
+		return object;
+	}
+	
+	private @NotNull JsonArray readArray() {
+		int size = this.readCount(1);
+		JsonArray array = new JsonArray();
+		for (int i = 0; i < size; i++) {
+			array.add(this.readValue());
+		}
+		return array;
+	}
+	
+	private @NotNull JsonArray readLongArray() {
+		long[] values = new long[this.readCount(1)];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.readZigZag();
+		}
+		return new JsonArray(values);
+	}
+	
+	private @NotNull JsonArray readDoubleArray() {
+		double[] values = new double[this.readCount(8)];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Double.longBitsToDouble(this.readLong());
+		}
+		return new JsonArray(values);
+	}
+	
+	private @NotNull JsonNumber readDecimal() {
+		long scale = this.readZigZag();
+		if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+			throw new JsonException("Binary json contains a decimal with an invalid scale of " + scale);
+		}
+		int length = this.readLength();
+		if (length == 0) {
+			throw new JsonException("Binary json contains a decimal without a value at offset " + this.position);
+		}
+		byte[] unscaled = new byte[length];
+		this.buffer.get(this.position, unscaled);
+		this.position += length;
+		return new JsonNumber(new BigDecimal(new BigInteger(unscaled), (int) scale));
+	}
+	
+	private @NotNull String readString(int length) {
+		String value;
+		if (this.array != null) {
+			value = new String(this.array, this.offset + this.position, length, StandardCharsets.UTF_8);
+		} else {
+			byte[] bytes = new byte[length];
+			this.buffer.get(this.position, bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+		}
+		this.position += length;
+		return value;
+	}
+	
+	private int readLength() {
+		return this.checkLength(this.readVarInt());
+	}
+	
+	private int checkLength(long length) {
+		if (length < 0 || length > this.limit - this.position) {
+			throw new JsonException("Binary json is truncated, expected " + length + " bytes at offset " + this.position);
+		}
+		return (int) length;
+	}
+	
+	private int readCount(int minBytes) {
+		long count = this.readVarInt();
+		if (count < 0 || count > (this.limit - this.position) / minBytes) {
+			throw new JsonException("Binary json is truncated, expected " + count + " elements at offset " + this.position);
+		}
+		return (int) count;
+	}
+	
+	private long readZigZag() {
+		long value = this.readVarInt();
+		return value >>> 1 ^ -(value & 1);
+	}
+	
+	private long readVarInt() {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = this.read();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new JsonException("Binary json contains a malformed varint at offset " + this.position);
+	}
+	
+	private long readLong() {
+		if (8 > this.limit - this.position) {
+			throw new JsonException("Binary json is truncated at offset " + this.position);
+		}
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = value << 8 | this.read() & 0xFF;
+		}
+		return value;
+	}
+	
+	private byte read() {
+		if (this.position >= this.limit) {
+			throw new JsonException("Binary json is truncated at offset " + this.position);
+		}
+		return this.array != null ? this.array[this.offset + this.position++] : this.buffer.get(this.position++);
+	}
+	//endregion
+}
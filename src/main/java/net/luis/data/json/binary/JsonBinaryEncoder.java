@@ -0,0 +1,213 @@
+package net.luis.data.json.binary;
+
+import com.google.common.collect.Maps;
+import net.luis.data.json.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Encoder which writes a {@link Json} tree in a compact binary format.<br>
+ * Lengths and integral numbers are written as varints and every object key is only written once,
+ * repeated keys are written as references into a key table which is built while encoding.<br>
+ * Json arrays which only contain long or double values are written packed without a type tag per element.<br>
+ * The encoded data can be read by the {@link JsonBinaryDecoder}
+ *
+ * @see JsonBinaryDecoder
+ *
+ * @author Luis-St
+ */
+
+public final class JsonBinaryEncoder {
+	
+	private final Map<String, Integer> keys = Maps.newHashMap();
+	private byte[] buffer = new byte[256];
+	private int position;
+	
+	private JsonBinaryEncoder() {
+		super();
+	}
+	
+	/**
+	 * Encodes the given json element into a byte array
+	 * @param json The json element to encode
+	 * @return The encoded json element
+	 * @throws NullPointerException If the json element is null
+	 */
+	public static byte @NotNull [] encode(Json json) {
+		Objects.requireNonNull(json, "Json must not be null");
+		JsonBinaryEncoder encoder = new JsonBinaryEncoder();
+		encoder.writeBytes(JsonBinaryType.MAGIC, 0, JsonBinaryType.MAGIC.length);
+		encoder.writeValue(json);
+		return Arrays.copyOf(encoder.buffer, encoder.position);
+	}
+	
+	/**
+	 * Encodes the given json element into the given stream, the stream is not closed
+	 * @param json The json element to encode
+	 * @param stream The stream to write to
+	 * @throws NullPointerException If the json element or the stream is null
+	 * @throws RuntimeException If the encoded json element could not be written
+	 */
+	public static void encode(Json json, OutputStream stream) {
+		Objects.requireNonNull(json, "Json must not be null");
+		Objects.requireNonNull(stream, "Stream must not be null");
+		JsonBinaryEncoder encoder = new JsonBinaryEncoder();
+		encoder.writeBytes(JsonBinaryType.MAGIC, 0, JsonBinaryType.MAGIC.length);
+		encoder.writeValue(json);
+		try {
+			stream.write(encoder.buffer, 0, encoder.position);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write binary json", e);
+		}
+	}
+	
+	//region Helper methods
+	private void writeValue(Json json) {
+		if (json instanceof JsonObject object) {
+			this.writeObject(object);
+		} else if (json instanceof JsonArray array) {
+			this.writeArray(array);
+		} else if (json instanceof JsonString string) {
+			this.write(JsonBinaryType.STRING);
+			this.writeString(string.getAsString());
+		} else if (json instanceof JsonNumber number) {
+			this.writeNumber(number);
+		} else if (json instanceof JsonBoolean bool) {
+			this.write(bool.getAsBoolean() ? JsonBinaryType.TRUE : JsonBinaryType.FALSE);
+		} else {
+			this.write(JsonBinaryType.NULL);
+		}
+	}
+	
+	private void writeObject(JsonObject object) {
+		this.write(JsonBinaryType.OBJECT);
+		this.writeVarInt(object.size());
+		for (Map.Entry<String, Json> entry : object) {
+			Integer index = this.keys.get(entry.getKey());
+			if (index == null) {
+				this.keys.put(entry.getKey(), this.keys.size());
+				this.writeString(entry.getKey(), 1);
+			} else {
+				this.writeVarInt((long) index << 1 | 1);
+			}
+			this.writeValue(entry.getValue());
+		}
+	}
+	
+	private void writeArray(JsonArray array) {
+		byte type = packedType(array);
+		this.write(type);
+		this.writeVarInt(array.size());
+		if (type == JsonBinaryType.LONG_ARRAY) {
+			for (long value : array.toLongArray()) {
+				this.writeVarInt(value << 1 ^ value >> 63);
+			}
+		} else if (type == JsonBinaryType.DOUBLE_ARRAY) {
+			for (double value : array.toDoubleArray()) {
+				this.writeLong(Double.doubleToRawLongBits(value));
+			}
+		} else {
+			for (Json element : array) {
+				this.writeValue(element);
+			}
+		}
+	}
+	
+	private void writeNumber(JsonNumber number) {
+		if (number.isLong()) {
+			long value = number.getAsLong();
+			this.write(JsonBinaryType.LONG);
+			this.writeVarInt(value << 1 ^ value >> 63);
+		} else if (number.isDouble()) {
+			this.write(JsonBinaryType.DOUBLE);
+			this.writeLong(Double.doubleToRawLongBits(number.getAsDouble()));
+		} else {
+			BigDecimal decimal = number.getAsBigDecimal();
+			byte[] unscaled = decimal.unscaledValue().toByteArray();
+			this.write(JsonBinaryType.DECIMAL);
+			this.writeVarInt((long) decimal.scale() << 1 ^ decimal.scale() >> 31);
+			this.writeVarInt(unscaled.length);
+			this.writeBytes(unscaled, 0, unscaled.length);
+		}
+	}
+	
+	private void writeString(String value) {
+		this.writeString(value, 0);
+	}
+	
+	private void writeString(String value, int shift) {
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			if (value.charAt(i) >= 0x80) {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				this.writeVarInt((long) bytes.length << shift);
+				this.writeBytes(bytes, 0, bytes.length);
+				return;
+			}
+		}
+		this.writeVarInt((long) length << shift);
+		this.ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			this.buffer[this.position++] = (byte) value.charAt(i);
+		}
+	}
+	
+	private void writeVarInt(long value) {
+		this.ensureCapacity(10);
+		while ((value & ~0x7FL) != 0) {
+			this.buffer[this.position++] = (byte) (value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		this.buffer[this.position++] = (byte) value;
+	}
+	
+	private void writeLong(long value) {
+		this.ensureCapacity(8);
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			this.buffer[this.position++] = (byte) (value >>> shift);
+		}
+	}
+	
+	private void write(byte value) {
+		this.ensureCapacity(1);
+		this.buffer[this.position++] = value;
+	}
+	
+	private void writeBytes(byte[] bytes, int offset, int length) {
+		this.ensureCapacity(length);
+		System.arraycopy(bytes, offset, this.buffer, this.position, length);
+		this.position += length;
+	}
+	
+	private void ensureCapacity(int length) {
+		if (this.position + length > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.position + length));
+		}
+	}
+	
+	private static byte packedType(JsonArray array) {
+		if (array.isEmpty()) {
+			return JsonBinaryType.ARRAY;
+		}
+		boolean longs = true;
+		boolean doubles = true;
+		for (Json element : array) {
+			if (!(element instanceof JsonNumber number)) {
+				return JsonBinaryType.ARRAY;
+			}
+			longs &= number.isLong();
+			doubles &= number.isDouble();
+			if (!longs && !doubles) {
+				return JsonBinaryType.ARRAY;
+			}
+		}
+		return longs ? JsonBinaryType.LONG_ARRAY : JsonBinaryType.DOUBLE_ARRAY;
+	}
+	//endregion
+}
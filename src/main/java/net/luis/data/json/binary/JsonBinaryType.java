@@ -0,0 +1,34 @@
+package net.luis.data.json.binary;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Constants of the binary json format which is written by the {@link JsonBinaryEncoder} and read by the {@link JsonBinaryDecoder}.<br>
+ * The format starts with a {@link #MAGIC magic} header followed by a single value, every value starts with one of the type tags.<br>
+ * Lengths and counts are unsigned varints, long values are zigzag encoded varints and double values are stored as 8 big endian bytes.<br>
+ * Object keys are written once and referenced by their index in the key table afterwards,
+ * a key reference is a varint whose lowest bit is set for a reference and cleared for a new key followed by its utf-8 bytes
+ *
+ * @author Luis-St
+ */
+
+@ApiStatus.Internal
+class JsonBinaryType {
+	
+	/**
+	 * The header of the format, the last byte is the version
+	 */
+	static final byte[] MAGIC = { 'L', 'J', 'B', 1 };
+	
+	static final byte NULL = 0;
+	static final byte FALSE = 1;
+	static final byte TRUE = 2;
+	static final byte LONG = 3;
+	static final byte DOUBLE = 4;
+	static final byte DECIMAL = 5;
+	static final byte STRING = 6;
+	static final byte ARRAY = 7;
+	static final byte LONG_ARRAY = 8;
+	static final byte DOUBLE_ARRAY = 9;
+	static final byte OBJECT = 10;
+}
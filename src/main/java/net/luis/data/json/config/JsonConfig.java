@@ -14,7 +14,7 @@ import java.util.Objects;
  * @author Luis-St
  */
 
-public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPrimitiveArrays, boolean simplifyPrimitiveObjects, boolean allowBlankKeys, boolean allowQuotedStrings, boolean allowCustomExtensions) implements DataConfig {
+public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPrimitiveArrays, boolean simplifyPrimitiveObjects, boolean allowBlankKeys, boolean allowQuotedStrings, boolean allowCustomExtensions, boolean sortKeys) implements DataConfig {
 	
 	public static final JsonConfig DEFAULT = new JsonConfig(true, "\t", false, false, true, false, false);
 	
@@ -29,6 +29,7 @@ public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPri
 	 * @param allowBlankKeys Whether to allow blank keys in json objects
 	 * @param allowQuotedStrings Whether to allow quoted strings in json strings like "Hello World"
 	 * @param allowCustomExtensions Whether to allow writing into none json files like .txt files
+	 * @param sortKeys Whether to write the elements of json objects sorted by their keys instead of in insertion order
 	 * @throws NullPointerException If the indent is null
 	 * @throws IllegalArgumentException If the indent is not whitespace characters only
 	 */
@@ -39,6 +40,22 @@ public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPri
 		}
 	}
 	
+	/**
+	 * Constructs a new {@link JsonConfig} with the given parameters which writes the elements of json objects in insertion order
+	 * @param prettyPrint Whether to pretty print the json
+	 * @param indent The indent to use when pretty printing
+	 * @param simplifyPrimitiveArrays Whether to simplify arrays which only contain primitive values into a single line
+	 * @param simplifyPrimitiveObjects Whether to simplify objects which only contain primitive values into a single line
+	 * @param allowBlankKeys Whether to allow blank keys in json objects
+	 * @param allowQuotedStrings Whether to allow quoted strings in json strings like "Hello World"
+	 * @param allowCustomExtensions Whether to allow writing into none json files like .txt files
+	 * @throws NullPointerException If the indent is null
+	 * @throws IllegalArgumentException If the indent is not whitespace characters only
+	 */
+	public JsonConfig(boolean prettyPrint, String indent, boolean simplifyPrimitiveArrays, boolean simplifyPrimitiveObjects, boolean allowBlankKeys, boolean allowQuotedStrings, boolean allowCustomExtensions) {
+		this(prettyPrint, indent, simplifyPrimitiveArrays, simplifyPrimitiveObjects, allowBlankKeys, allowQuotedStrings, allowCustomExtensions, false);
+	}
+	
 	/**
 	 * @return A new {@link JsonConfig.Builder} with the default configuration
 	 */
@@ -76,6 +93,7 @@ public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPri
 		private String indent;
 		private boolean simplifyPrimitiveArrays;
 		private boolean simplifyPrimitiveObjects;
+		private boolean sortKeys;
 		private boolean allowBlankKeys;
 		private boolean allowQuotedStrings;
 		private boolean allowCustomExtensions;
@@ -86,6 +104,7 @@ public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPri
 			this.indent = baseConfig.indent();
 			this.simplifyPrimitiveArrays = baseConfig.simplifyPrimitiveArrays();
 			this.simplifyPrimitiveObjects = baseConfig.simplifyPrimitiveObjects();
+			this.sortKeys = baseConfig.sortKeys();
 			this.allowBlankKeys = baseConfig.allowBlankKeys();
 			this.allowQuotedStrings = baseConfig.allowQuotedStrings();
 			this.allowCustomExtensions = baseConfig.allowCustomExtensions();
@@ -111,6 +130,11 @@ public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPri
 			return this;
 		}
 		
+		public JsonConfig.Builder sortKeys(boolean sortKeys) {
+			this.sortKeys = sortKeys;
+			return this;
+		}
+		
 		public JsonConfig.Builder allowBlankKeys(boolean allowBlankKeys) {
 			this.allowBlankKeys = allowBlankKeys;
 			return this;
@@ -128,7 +152,7 @@ public record JsonConfig(boolean prettyPrint, String indent, boolean simplifyPri
 		
 		@Override
 		public JsonConfig build() {
-			return new JsonConfig(this.prettyPrint, this.indent, this.simplifyPrimitiveArrays, this.simplifyPrimitiveObjects, this.allowBlankKeys, this.allowQuotedStrings, this.allowCustomExtensions);
+			return new JsonConfig(this.prettyPrint, this.indent, this.simplifyPrimitiveArrays, this.simplifyPrimitiveObjects, this.allowBlankKeys, this.allowQuotedStrings, this.allowCustomExtensions, this.sortKeys);
 		}
 	}
 	//endregion
@@ -0,0 +1,28 @@
+package net.luis.data.json.io;
+
+/**
+ * Events which are emitted by the {@link JsonEventReader} and the {@link JsonFeeder}
+ *
+ * @see JsonEventReader
+ * @see JsonFeeder
+ *
+ * @author Luis-St
+ */
+
+public enum JsonEvent {
+	
+	START_OBJECT,
+	END_OBJECT,
+	START_ARRAY,
+	END_ARRAY,
+	KEY,
+	VALUE_STRING,
+	VALUE_NUMBER,
+	VALUE_BOOLEAN,
+	VALUE_NULL,
+	END_DOCUMENT,
+	/**
+	 * Emitted by the {@link JsonFeeder} if the fed input does not contain the next event yet
+	 */
+	NEED_MORE_INPUT
+}
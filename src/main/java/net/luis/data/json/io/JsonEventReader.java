@@ -0,0 +1,494 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.*;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.exception.JsonReaderIndexOutOfBoundsException;
+import net.luis.data.json.exception.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A pull based reader which emits {@link JsonEvent events} for json read from a {@link Reader} or a {@link ReadableByteChannel}.<br>
+ * The input is read through a fixed size buffer, so the memory usage does not depend on the size of the input.<br>
+ * Multiple root values are read one after another, {@link JsonEvent#END_DOCUMENT} is emitted at the end of the input.<br>
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * try (JsonEventReader reader = new JsonEventReader(new File("records.json"))) {
+ *     reader.next(); // START_ARRAY
+ *     while (reader.next() == JsonEvent.START_OBJECT) {
+ *         JsonObject record = reader.readJson().getAsObject();
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see JsonEvent
+ *
+ * @author Luis-St
+ */
+
+public class JsonEventReader implements Iterator<JsonEvent>, AutoCloseable {
+	
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	private static final int OBJECT = 0;
+	private static final int ARRAY = 1;
+	
+	private final Reader reader;
+	private final char[] buffer;
+	private final StringBuilder text = new StringBuilder();
+	private int position;
+	private int limit;
+	private long offset;
+	private int[] stack = new int[16];
+	private int depth;
+	private State state = State.ROOT;
+	private JsonEvent event;
+	
+	/**
+	 * Constructs a new {@link JsonEventReader} for the given json file using the default charset
+	 * @param file The json file to read
+	 * @throws NullPointerException If the file is null
+	 * @throws RuntimeException If the file could not be opened
+	 */
+	public JsonEventReader(File file) {
+		this(open(Objects.requireNonNull(file, "File must not be null")));
+	}
+	
+	/**
+	 * Constructs a new {@link JsonEventReader} for the given channel which contains utf-8 encoded json
+	 * @param channel The channel to read from
+	 * @throws NullPointerException If the channel is null
+	 */
+	public JsonEventReader(ReadableByteChannel channel) {
+		this(Channels.newReader(Objects.requireNonNull(channel, "Channel must not be null"), StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Constructs a new {@link JsonEventReader} for the given reader
+	 * @param reader The reader to read from
+	 * @throws NullPointerException If the reader is null
+	 */
+	public JsonEventReader(Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonEventReader} for the given reader
+	 * @param reader The reader to read from
+	 * @param bufferSize The size of the buffer in chars
+	 * @throws NullPointerException If the reader is null
+	 * @throws IllegalArgumentException If the buffer size is not positive
+	 */
+	public JsonEventReader(Reader reader, int bufferSize) {
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		if (0 >= bufferSize) {
+			throw new IllegalArgumentException("Buffer size must be positive");
+		}
+		this.buffer = new char[bufferSize];
+	}
+	
+	private static @NotNull Reader open(File file) {
+		try {
+			return new FileReader(file, Charset.defaultCharset());
+		} catch (Exception e) {
+			throw new RuntimeException("Could not open file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return this.event != JsonEvent.END_DOCUMENT;
+	}
+	
+	/**
+	 * Reads the next event from the input
+	 * @return The next event
+	 * @throws JsonReaderIndexOutOfBoundsException If the reader is at the end of the input
+	 * @throws JsonSyntaxException If the input is not valid json
+	 */
+	@Override
+	public @NotNull JsonEvent next() {
+		//region Validation
+		if (!this.hasNext()) {
+			throw new JsonReaderIndexOutOfBoundsException("Json event reader is at the end of the input");
+		}
+		//endregion
+		return this.event = this.read();
+	}
+	
+	//region Getters
+	
+	/**
+	 * @return The current event or null if {@link #next()} was not called yet
+	 */
+	public JsonEvent getEvent() {
+		return this.event;
+	}
+	
+	/**
+	 * @return The nesting depth of the current position, 0 at the root level
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+	
+	/**
+	 * @return The text of the current {@link JsonEvent#KEY key}, {@link JsonEvent#VALUE_STRING string} or {@link JsonEvent#VALUE_NUMBER number}
+	 * @throws JsonException If the current event has no text
+	 */
+	public @NotNull String getAsString() {
+		if (this.event == JsonEvent.KEY || this.event == JsonEvent.VALUE_STRING || this.event == JsonEvent.VALUE_NUMBER) {
+			return this.text.toString();
+		}
+		throw new JsonException("Current json event " + this.event + " has no text");
+	}
+	
+	/**
+	 * @return The current {@link JsonEvent#VALUE_BOOLEAN boolean} value
+	 * @throws JsonException If the current event is not a boolean
+	 */
+	public boolean getAsBoolean() {
+		if (this.event == JsonEvent.VALUE_BOOLEAN) {
+			return Character.toLowerCase(this.text.charAt(0)) == 't';
+		}
+		throw new JsonException("Current json event " + this.event + " is not a boolean");
+	}
+	
+	/**
+	 * @return The current {@link JsonEvent#VALUE_NUMBER number} value as a long
+	 * @throws JsonException If the current event is not a number
+	 * @throws NumberFormatException If the number is not a valid long
+	 */
+	public long getAsLong() {
+		if (this.event == JsonEvent.VALUE_NUMBER) {
+			return Long.parseLong(this.text, 0, this.text.length(), 10);
+		}
+		throw new JsonException("Current json event " + this.event + " is not a number");
+	}
+	
+	/**
+	 * @return The current {@link JsonEvent#VALUE_NUMBER number} value as a double
+	 * @throws JsonException If the current event is not a number
+	 */
+	public double getAsDouble() {
+		if (this.event == JsonEvent.VALUE_NUMBER) {
+			return Double.parseDouble(this.text.toString());
+		}
+		throw new JsonException("Current json event " + this.event + " is not a number");
+	}
+	//endregion
+	
+	/**
+	 * Skips the children of the current {@link JsonEvent#START_OBJECT object} or {@link JsonEvent#START_ARRAY array}.<br>
+	 * After skipping the current event is the matching end event, for all other events this method does nothing
+	 */
+	public void skipChildren() {
+		if (this.event != JsonEvent.START_OBJECT && this.event != JsonEvent.START_ARRAY) {
+			return;
+		}
+		int target = this.depth - 1;
+		while (this.depth > target) {
+			this.next();
+		}
+	}
+	
+	/**
+	 * Materializes the value which starts at the current event into a {@link Json} element.<br>
+	 * After reading the current event is the last event of the value
+	 * @return The json element
+	 * @throws JsonException If the current event does not start a value
+	 */
+	public @NotNull Json readJson() {
+		return switch (Objects.requireNonNull(this.event, "Json event reader was not started")) {
+			case START_OBJECT -> {
+				JsonObject object = new JsonObject();
+				while (this.next() != JsonEvent.END_OBJECT) {
+					String key = this.getAsString();
+					this.next();
+					object.add(key, this.readJson());
+				}
+				yield object;
+			}
+			case START_ARRAY -> {
+				JsonArray array = new JsonArray();
+				while (this.next() != JsonEvent.END_ARRAY) {
+					array.add(this.readJson());
+				}
+				yield array;
+			}
+			case VALUE_STRING -> new JsonString(this.getAsString());
+			case VALUE_NUMBER -> JsonNumber.parse(this.text);
+			case VALUE_BOOLEAN -> JsonBoolean.valueOf(this.getAsBoolean());
+			case VALUE_NULL -> JsonNull.INSTANCE;
+			default -> throw new JsonException("Current json event " + this.event + " does not start a json value");
+		};
+	}
+	
+	/**
+	 * Closes the underlying reader
+	 * @throws RuntimeException If an error occurs while closing the reader
+	 */
+	@Override
+	public void close() {
+		try {
+			this.reader.close();
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to close json input", e);
+		}
+	}
+	
+	//region Parsing
+	private @NotNull JsonEvent read() {
+		int c = this.nextNonWhitespace();
+		switch (this.state) {
+			case ROOT -> {
+				if (c == -1) {
+					return JsonEvent.END_DOCUMENT;
+				}
+				return this.readValue(c);
+			}
+			case KEY_OR_END -> {
+				if (c == '}') {
+					return this.endContainer(OBJECT);
+				}
+				return this.readKey(c);
+			}
+			case KEY -> {
+				return this.readKey(c);
+			}
+			case VALUE_OR_END -> {
+				if (c == ']') {
+					return this.endContainer(ARRAY);
+				}
+				return this.readValue(c);
+			}
+			case VALUE -> {
+				return this.readValue(c);
+			}
+			default -> {
+				boolean object = this.stack[this.depth - 1] == OBJECT;
+				if (c == ',') {
+					this.state = object ? State.KEY : State.VALUE;
+					return this.read();
+				} else if (c == (object ? '}' : ']')) {
+					return this.endContainer(object ? OBJECT : ARRAY);
+				}
+				throw this.unexpected(c, object ? "',' or '}'" : "',' or ']'");
+			}
+		}
+	}
+	
+	private @NotNull JsonEvent readKey(int c) {
+		if (c != '"') {
+			throw this.unexpected(c, "json key");
+		}
+		this.readString();
+		if (this.text.isEmpty()) {
+			throw new JsonSyntaxException("Json key at index " + this.index() + " is empty");
+		}
+		int colon = this.nextNonWhitespace();
+		if (colon != ':') {
+			throw this.unexpected(colon, "':'");
+		}
+		this.state = State.VALUE;
+		return JsonEvent.KEY;
+	}
+	
+	private @NotNull JsonEvent readValue(int c) {
+		switch (c) {
+			case '{' -> {
+				this.push(OBJECT);
+				this.state = State.KEY_OR_END;
+				return JsonEvent.START_OBJECT;
+			}
+			case '[' -> {
+				this.push(ARRAY);
+				this.state = State.VALUE_OR_END;
+				return JsonEvent.START_ARRAY;
+			}
+			case '"' -> {
+				this.readString();
+				this.endValue();
+				return JsonEvent.VALUE_STRING;
+			}
+			case -1, '}', ']', ':', ',' -> throw this.unexpected(c, "json value");
+		}
+		this.readLiteral((char) c);
+		this.endValue();
+		if (this.matches("true", true) || this.matches("false", true)) {
+			return JsonEvent.VALUE_BOOLEAN;
+		} else if (this.matches("null", false)) {
+			return JsonEvent.VALUE_NULL;
+		} else if (isNumber(this.text)) {
+			return JsonEvent.VALUE_NUMBER;
+		}
+		throw new JsonSyntaxException("Invalid json value '" + this.text + "' at index " + this.index());
+	}
+	
+	private @NotNull JsonEvent endContainer(int type) {
+		this.depth--;
+		this.endValue();
+		return type == OBJECT ? JsonEvent.END_OBJECT : JsonEvent.END_ARRAY;
+	}
+	
+	private void endValue() {
+		this.state = this.depth == 0 ? State.ROOT : State.SEPARATOR;
+	}
+	
+	private void push(int type) {
+		if (this.depth == this.stack.length) {
+			this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+		}
+		this.stack[this.depth++] = type;
+	}
+	//endregion
+	
+	//region Buffer
+	private boolean fill() {
+		try {
+			this.offset += this.limit;
+			this.position = 0;
+			this.limit = 0;
+			int read = 0;
+			while (read == 0) {
+				read = this.reader.read(this.buffer, 0, this.buffer.length);
+			}
+			if (read == -1) {
+				return false;
+			}
+			this.limit = read;
+			return true;
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to read json input", e);
+		}
+	}
+	
+	private int nextNonWhitespace() {
+		while (this.position < this.limit || this.fill()) {
+			char c = this.buffer[this.position++];
+			if (!Character.isWhitespace(c)) {
+				return c;
+			}
+		}
+		return -1;
+	}
+	
+	private void readString() {
+		this.text.setLength(0);
+		while (this.position < this.limit || this.fill()) {
+			int start = this.position;
+			while (this.position < this.limit) {
+				char c = this.buffer[this.position];
+				if (c == '"') {
+					this.text.append(this.buffer, start, this.position++ - start);
+					return;
+				} else if (c == '\\') {
+					this.position++;
+					if (this.position == this.limit) {
+						this.text.append(this.buffer, start, this.position - start);
+						if (!this.fill()) {
+							throw new JsonSyntaxException("Json string is not terminated at the end of the input");
+						}
+						start = 0;
+					}
+				}
+				this.position++;
+			}
+			this.text.append(this.buffer, start, this.position - start);
+		}
+		throw new JsonSyntaxException("Json string is not terminated at the end of the input");
+	}
+	
+	private void readLiteral(char first) {
+		this.text.setLength(0);
+		this.text.append(first);
+		while (this.position < this.limit || this.fill()) {
+			char c = this.buffer[this.position];
+			if (isDelimiter(c)) {
+				return;
+			}
+			this.text.append(c);
+			this.position++;
+		}
+	}
+	//endregion
+	
+	//region Helper methods
+	private long index() {
+		return this.offset + this.position;
+	}
+	
+	private boolean matches(String literal, boolean ignoreCase) {
+		if (this.text.length() != literal.length()) {
+			return false;
+		}
+		for (int i = 0; i < literal.length(); i++) {
+			char c = this.text.charAt(i);
+			if (c != literal.charAt(i) && (!ignoreCase || Character.toLowerCase(c) != literal.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private @NotNull JsonSyntaxException unexpected(int c, String expected) {
+		String found = c == -1 ? "end of input" : "'" + (char) c + "'";
+		return new JsonSyntaxException("Expected " + expected + " but found " + found + " at index " + (this.index() - 1));
+	}
+	
+	static boolean isDelimiter(char c) {
+		return switch (c) {
+			case '{', '}', '[', ']', ':', ',', '"' -> true;
+			default -> Character.isWhitespace(c);
+		};
+	}
+	
+	static boolean isNumber(CharSequence value) {
+		int i = value.charAt(0) == '-' ? 1 : 0;
+		int digits = i;
+		while (i < value.length() && Character.isDigit(value.charAt(i))) {
+			i++;
+		}
+		if (i == digits) {
+			return false;
+		}
+		if (i < value.length() && value.charAt(i) == '.') {
+			int fraction = ++i;
+			while (i < value.length() && Character.isDigit(value.charAt(i))) {
+				i++;
+			}
+			if (i == fraction) {
+				return false;
+			}
+		}
+		if (i < value.length() && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+			i++;
+			if (i < value.length() && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+				i++;
+			}
+			int exponent = i;
+			while (i < value.length() && Character.isDigit(value.charAt(i))) {
+				i++;
+			}
+			if (i == exponent) {
+				return false;
+			}
+		}
+		return i == value.length();
+	}
+	//endregion
+	
+	private enum State {
+		ROOT, KEY_OR_END, KEY, VALUE_OR_END, VALUE, SEPARATOR
+	}
+}
@@ -0,0 +1,522 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.*;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.exception.JsonReaderIndexOutOfBoundsException;
+import net.luis.data.json.exception.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * A push based parser which emits {@link JsonEvent events} for json which is fed in chunks of bytes, e.g. from non-blocking sockets.<br>
+ * The chunks can be split at any byte, a token which is not complete yet is kept and continued when the next chunk is fed,
+ * all other input is discarded as soon as it was parsed.<br>
+ * If the fed input does not contain the next event yet, {@link JsonEvent#NEED_MORE_INPUT} is emitted.
+ * After the last chunk {@link #endOfInput()} must be called, so the last value is completed and {@link JsonEvent#END_DOCUMENT} is emitted.<br>
+ * Multiple root values are read one after another, the same as by the {@link JsonEventReader}.<br>
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * JsonFeeder feeder = new JsonFeeder();
+ * while (channel.read(buffer) != -1) {
+ *     buffer.flip();
+ *     feeder.feed(buffer);
+ *     buffer.clear();
+ *     for (Json json = feeder.nextJson(); json != null; json = feeder.nextJson()) {
+ *         handle(json);
+ *     }
+ * }
+ * feeder.endOfInput();
+ * }</pre>
+ *
+ * @see JsonEvent
+ * @see JsonEventReader
+ *
+ * @author Luis-St
+ */
+
+public final class JsonFeeder {
+	
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	private static final int OBJECT = 0;
+	private static final int ARRAY = 1;
+	
+	private final CharsetDecoder decoder;
+	private final ByteBuffer remainder = ByteBuffer.allocate(16);
+	private final StringBuilder text = new StringBuilder();
+	private final Deque<Json> containers = new ArrayDeque<>();
+	private final Deque<String> keys = new ArrayDeque<>();
+	private char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private long offset;
+	private int[] stack = new int[16];
+	private int depth;
+	private State state = State.ROOT;
+	private Token token = Token.NONE;
+	private int tokenStart;
+	private int scan;
+	private boolean escaped;
+	private boolean ended;
+	private JsonEvent event;
+	
+	/**
+	 * Constructs a new {@link JsonFeeder} for utf-8 encoded json
+	 */
+	public JsonFeeder() {
+		this(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonFeeder} for json which is encoded with the given charset
+	 * @param charset The charset of the input
+	 * @throws NullPointerException If the charset is null
+	 */
+	public JsonFeeder(Charset charset) {
+		this.decoder = Objects.requireNonNull(charset, "Charset must not be null").newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+	
+	//region Input
+	
+	/**
+	 * Feeds the given chunk of bytes to the parser
+	 * @param bytes The bytes to feed
+	 * @throws NullPointerException If the bytes are null
+	 * @throws IllegalStateException If the end of the input was already reached
+	 */
+	public void feed(byte[] bytes) {
+		this.feed(ByteBuffer.wrap(Objects.requireNonNull(bytes, "Bytes must not be null")));
+	}
+	
+	/**
+	 * Feeds the given range of the chunk of bytes to the parser
+	 * @param bytes The bytes to feed
+	 * @param offset The index of the first byte to feed
+	 * @param length The number of bytes to feed
+	 * @throws NullPointerException If the bytes are null
+	 * @throws IndexOutOfBoundsException If the range is not within the bytes
+	 * @throws IllegalStateException If the end of the input was already reached
+	 */
+	public void feed(byte[] bytes, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, Objects.requireNonNull(bytes, "Bytes must not be null").length);
+		this.feed(ByteBuffer.wrap(bytes, offset, length));
+	}
+	
+	/**
+	 * Feeds the remaining bytes of the given buffer to the parser, the position of the buffer is moved to its limit
+	 * @param bytes The buffer to feed
+	 * @throws NullPointerException If the buffer is null
+	 * @throws IllegalStateException If the end of the input was already reached
+	 */
+	public void feed(ByteBuffer bytes) {
+		Objects.requireNonNull(bytes, "Bytes must not be null");
+		if (this.ended) {
+			throw new IllegalStateException("Json feeder does not accept input after the end of the input");
+		}
+		this.compact((int) Math.ceil((bytes.remaining() + this.remainder.position()) * (double) this.decoder.maxCharsPerByte()) + 1);
+		while (this.remainder.position() > 0 && bytes.hasRemaining()) {
+			this.remainder.put(bytes.get());
+			this.remainder.flip();
+			this.decode(this.remainder, false);
+			this.remainder.compact();
+		}
+		this.decode(bytes, false);
+		if (bytes.hasRemaining()) {
+			if (bytes.remaining() > this.remainder.remaining()) {
+				throw new JsonException("Json input contains an invalid byte sequence at index " + (this.offset + this.limit));
+			}
+			this.remainder.put(bytes);
+		}
+	}
+	
+	/**
+	 * Marks the end of the input, the remaining input is parsed and {@link JsonEvent#END_DOCUMENT} is emitted after the last event.<br>
+	 * Calling this method more than once has no effect
+	 */
+	public void endOfInput() {
+		if (!this.ended) {
+			this.compact(this.remainder.position() + 8);
+			this.remainder.flip();
+			this.decode(this.remainder, true);
+			CharBuffer chars = CharBuffer.wrap(this.buffer, this.limit, this.buffer.length - this.limit);
+			this.decoder.flush(chars);
+			this.limit = chars.position();
+			this.remainder.clear();
+			this.ended = true;
+		}
+	}
+	//endregion
+	
+	/**
+	 * @return True if the end of the input was not emitted yet
+	 */
+	public boolean hasNext() {
+		return this.event != JsonEvent.END_DOCUMENT;
+	}
+	
+	/**
+	 * Parses the next event from the fed input
+	 * @return The next event or {@link JsonEvent#NEED_MORE_INPUT} if the fed input does not contain the next event yet
+	 * @throws JsonReaderIndexOutOfBoundsException If the feeder is at the end of the input
+	 * @throws JsonSyntaxException If the input is not valid json
+	 */
+	public @NotNull JsonEvent next() {
+		//region Validation
+		if (!this.hasNext()) {
+			throw new JsonReaderIndexOutOfBoundsException("Json feeder is at the end of the input");
+		}
+		//endregion
+		return this.event = this.token == Token.NONE ? this.read() : this.resume();
+	}
+	
+	/**
+	 * Parses the next complete root value from the fed input.<br>
+	 * If the fed input ends within a value, the parsed part of the value is kept and completed by the following calls
+	 * @return The next root value or null if the fed input does not contain the rest of the value yet or the end of the input was reached
+	 * @throws JsonException If the feeder is within a value whose events were consumed by {@link #next()}
+	 * @throws JsonSyntaxException If the input is not valid json
+	 */
+	public Json nextJson() {
+		if (this.depth != this.containers.size()) {
+			throw new JsonException("Json feeder is within a value whose events were consumed by next()");
+		}
+		while (this.hasNext()) {
+			JsonEvent event = this.next();
+			Json value;
+			switch (event) {
+				case NEED_MORE_INPUT, END_DOCUMENT -> {
+					return null;
+				}
+				case START_OBJECT -> {
+					this.containers.push(new JsonObject());
+					continue;
+				}
+				case START_ARRAY -> {
+					this.containers.push(new JsonArray());
+					continue;
+				}
+				case KEY -> {
+					this.keys.push(this.getAsString());
+					continue;
+				}
+				case END_OBJECT, END_ARRAY -> value = this.containers.pop();
+				case VALUE_STRING -> value = new JsonString(this.getAsString());
+				case VALUE_NUMBER -> value = JsonNumber.parse(this.text);
+				case VALUE_BOOLEAN -> value = JsonBoolean.valueOf(this.getAsBoolean());
+				default -> value = JsonNull.INSTANCE;
+			}
+			Json parent = this.containers.peek();
+			if (parent == null) {
+				return value;
+			} else if (parent instanceof JsonObject object) {
+				object.add(this.keys.pop(), value);
+			} else {
+				parent.getAsArray().add(value);
+			}
+		}
+		return null;
+	}
+	
+	//region Getters
+	
+	/**
+	 * @return The current event or null if {@link #next()} was not called yet
+	 */
+	public JsonEvent getEvent() {
+		return this.event;
+	}
+	
+	/**
+	 * @return The nesting depth of the current position, 0 at the root level
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+	
+	/**
+	 * @return The text of the current {@link JsonEvent#KEY key}, {@link JsonEvent#VALUE_STRING string} or {@link JsonEvent#VALUE_NUMBER number}
+	 * @throws JsonException If the current event has no text
+	 */
+	public @NotNull String getAsString() {
+		if (this.event == JsonEvent.KEY || this.event == JsonEvent.VALUE_STRING || this.event == JsonEvent.VALUE_NUMBER) {
+			return this.text.toString();
+		}
+		throw new JsonException("Current json event " + this.event + " has no text");
+	}
+	
+	/**
+	 * @return The current {@link JsonEvent#VALUE_BOOLEAN boolean} value
+	 * @throws JsonException If the current event is not a boolean
+	 */
+	public boolean getAsBoolean() {
+		if (this.event == JsonEvent.VALUE_BOOLEAN) {
+			return Character.toLowerCase(this.text.charAt(0)) == 't';
+		}
+		throw new JsonException("Current json event " + this.event + " is not a boolean");
+	}
+	
+	/**
+	 * @return The current {@link JsonEvent#VALUE_NUMBER number} value as a long
+	 * @throws JsonException If the current event is not a number
+	 * @throws NumberFormatException If the number is not a valid long
+	 */
+	public long getAsLong() {
+		if (this.event == JsonEvent.VALUE_NUMBER) {
+			return Long.parseLong(this.text, 0, this.text.length(), 10);
+		}
+		throw new JsonException("Current json event " + this.event + " is not a number");
+	}
+	
+	/**
+	 * @return The current {@link JsonEvent#VALUE_NUMBER number} value as a double
+	 * @throws JsonException If the current event is not a number
+	 */
+	public double getAsDouble() {
+		if (this.event == JsonEvent.VALUE_NUMBER) {
+			return Double.parseDouble(this.text.toString());
+		}
+		throw new JsonException("Current json event " + this.event + " is not a number");
+	}
+	//endregion
+	
+	//region Parsing
+	private @NotNull JsonEvent read() {
+		int c = this.nextNonWhitespace();
+		if (c == -1 && !this.ended) {
+			return JsonEvent.NEED_MORE_INPUT;
+		}
+		switch (this.state) {
+			case ROOT -> {
+				if (c == -1) {
+					return JsonEvent.END_DOCUMENT;
+				}
+				return this.readValue(c);
+			}
+			case KEY_OR_END -> {
+				if (c == '}') {
+					return this.endContainer(OBJECT);
+				}
+				return this.readKey(c);
+			}
+			case KEY -> {
+				return this.readKey(c);
+			}
+			case COLON -> {
+				if (c != ':') {
+					throw this.unexpected(c, "':'");
+				}
+				this.state = State.VALUE;
+				return this.read();
+			}
+			case VALUE_OR_END -> {
+				if (c == ']') {
+					return this.endContainer(ARRAY);
+				}
+				return this.readValue(c);
+			}
+			case VALUE -> {
+				return this.readValue(c);
+			}
+			default -> {
+				boolean object = this.stack[this.depth - 1] == OBJECT;
+				if (c == ',') {
+					this.state = object ? State.KEY : State.VALUE;
+					return this.read();
+				} else if (c == (object ? '}' : ']')) {
+					return this.endContainer(object ? OBJECT : ARRAY);
+				}
+				throw this.unexpected(c, object ? "',' or '}'" : "',' or ']'");
+			}
+		}
+	}
+	
+	private @NotNull JsonEvent readKey(int c) {
+		if (c != '"') {
+			throw this.unexpected(c, "json key");
+		}
+		this.begin(Token.KEY, this.position);
+		return this.resume();
+	}
+	
+	private @NotNull JsonEvent readValue(int c) {
+		switch (c) {
+			case '{' -> {
+				this.push(OBJECT);
+				this.state = State.KEY_OR_END;
+				return JsonEvent.START_OBJECT;
+			}
+			case '[' -> {
+				this.push(ARRAY);
+				this.state = State.VALUE_OR_END;
+				return JsonEvent.START_ARRAY;
+			}
+			case '"' -> {
+				this.begin(Token.STRING, this.position);
+				return this.resume();
+			}
+			case -1, '}', ']', ':', ',' -> throw this.unexpected(c, "json value");
+		}
+		this.begin(Token.LITERAL, this.position - 1);
+		return this.resume();
+	}
+	
+	private @NotNull JsonEvent resume() {
+		if (this.token == Token.LITERAL ? !this.scanLiteral() : !this.scanString()) {
+			return JsonEvent.NEED_MORE_INPUT;
+		}
+		Token token = this.token;
+		this.token = Token.NONE;
+		if (token == Token.KEY) {
+			if (this.text.isEmpty()) {
+				throw new JsonSyntaxException("Json key at index " + this.index() + " is empty");
+			}
+			this.state = State.COLON;
+			return JsonEvent.KEY;
+		}
+		this.endValue();
+		if (token == Token.STRING) {
+			return JsonEvent.VALUE_STRING;
+		} else if (this.matches("true", true) || this.matches("false", true)) {
+			return JsonEvent.VALUE_BOOLEAN;
+		} else if (this.matches("null", false)) {
+			return JsonEvent.VALUE_NULL;
+		} else if (JsonEventReader.isNumber(this.text)) {
+			return JsonEvent.VALUE_NUMBER;
+		}
+		throw new JsonSyntaxException("Invalid json value '" + this.text + "' at index " + this.index());
+	}
+	
+	private @NotNull JsonEvent endContainer(int type) {
+		this.depth--;
+		this.endValue();
+		return type == OBJECT ? JsonEvent.END_OBJECT : JsonEvent.END_ARRAY;
+	}
+	
+	private void endValue() {
+		this.state = this.depth == 0 ? State.ROOT : State.SEPARATOR;
+	}
+	
+	private void push(int type) {
+		if (this.depth == this.stack.length) {
+			this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+		}
+		this.stack[this.depth++] = type;
+	}
+	//endregion
+	
+	//region Tokens
+	private void begin(Token token, int start) {
+		this.token = token;
+		this.tokenStart = start;
+		this.scan = this.position;
+		this.escaped = false;
+	}
+	
+	private boolean scanString() {
+		while (this.scan < this.limit) {
+			char c = this.buffer[this.scan++];
+			if (this.escaped) {
+				this.escaped = false;
+			} else if (c == '\\') {
+				this.escaped = true;
+			} else if (c == '"') {
+				this.text.setLength(0);
+				this.text.append(this.buffer, this.tokenStart, this.scan - 1 - this.tokenStart);
+				this.position = this.scan;
+				return true;
+			}
+		}
+		if (this.ended) {
+			throw new JsonSyntaxException("Json string is not terminated at the end of the input");
+		}
+		return false;
+	}
+	
+	private boolean scanLiteral() {
+		while (this.scan < this.limit && !JsonEventReader.isDelimiter(this.buffer[this.scan])) {
+			this.scan++;
+		}
+		if (this.scan == this.limit && !this.ended) {
+			return false;
+		}
+		this.text.setLength(0);
+		this.text.append(this.buffer, this.tokenStart, this.scan - this.tokenStart);
+		this.position = this.scan;
+		return true;
+	}
+	//endregion
+	
+	//region Buffer
+	private void decode(ByteBuffer bytes, boolean endOfInput) {
+		CharBuffer chars = CharBuffer.wrap(this.buffer, this.limit, this.buffer.length - this.limit);
+		this.decoder.decode(bytes, chars, endOfInput);
+		this.limit = chars.position();
+	}
+	
+	private void compact(int required) {
+		int start = this.token == Token.NONE ? this.position : this.tokenStart;
+		if (start > 0) {
+			System.arraycopy(this.buffer, start, this.buffer, 0, this.limit - start);
+			this.offset += start;
+			this.position -= start;
+			this.scan -= start;
+			this.tokenStart -= start;
+			this.limit -= start;
+		}
+		if (this.buffer.length - this.limit < required) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.limit + required));
+		}
+	}
+	
+	private int nextNonWhitespace() {
+		while (this.position < this.limit) {
+			char c = this.buffer[this.position++];
+			if (!Character.isWhitespace(c)) {
+				return c;
+			}
+		}
+		return -1;
+	}
+	//endregion
+	
+	//region Helper methods
+	private long index() {
+		return this.offset + this.position;
+	}
+	
+	private boolean matches(String literal, boolean ignoreCase) {
+		if (this.text.length() != literal.length()) {
+			return false;
+		}
+		for (int i = 0; i < literal.length(); i++) {
+			char c = this.text.charAt(i);
+			if (c != literal.charAt(i) && (!ignoreCase || Character.toLowerCase(c) != literal.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private @NotNull JsonSyntaxException unexpected(int c, String expected) {
+		String found = c == -1 ? "end of input" : "'" + (char) c + "'";
+		return new JsonSyntaxException("Expected " + expected + " but found " + found + " at index " + (this.index() - 1));
+	}
+	//endregion
+	
+	private enum State {
+		ROOT, KEY_OR_END, KEY, COLON, VALUE_OR_END, VALUE, SEPARATOR
+	}
+	
+	private enum Token {
+		NONE, KEY, STRING, LITERAL
+	}
+}
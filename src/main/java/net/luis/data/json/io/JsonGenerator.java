@@ -0,0 +1,346 @@
+package net.luis.data.json.io;
+
+import com.google.common.collect.Lists;
+import net.luis.data.json.*;
+import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.exception.JsonException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A generator which writes json directly into a {@link Writer} without building intermediate strings.<br>
+ * The indentation is tracked as a counter, so the cost of writing json is linear in the size of the output.<br>
+ * Containers which are written through {@link #value(Json)} are simplified according to the {@link JsonConfig},
+ * containers which are written manually through {@link #beginObject()} and {@link #beginArray()} are never simplified.
+ *
+ * @see JsonWriter
+ * @see JsonConfig
+ *
+ * @author Luis-St
+ */
+
+public class JsonGenerator {
+	
+	private static final int OBJECT = 0;
+	private static final int ARRAY = 1;
+	
+	private final Writer writer;
+	private final JsonConfig config;
+	private int[] types = new int[16];
+	private int[] counts = new int[16];
+	private boolean[] inline = new boolean[16];
+	private int depth;
+	private boolean pendingName;
+	
+	/**
+	 * Constructs a new {@link JsonGenerator} which writes into the given writer
+	 * @param writer The writer to write to
+	 * @param config The config to use
+	 * @throws NullPointerException If the writer or the config is null
+	 */
+	public JsonGenerator(Writer writer, JsonConfig config) {
+		this.writer = Objects.requireNonNull(writer, "Writer must not be null");
+		this.config = Objects.requireNonNull(config, "Json config must not be null");
+	}
+	
+	/**
+	 * @return The current nesting depth, 0 if no container is open
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+	
+	//region Containers
+	
+	/**
+	 * Begins a new json object
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position
+	 */
+	public @NotNull JsonGenerator beginObject() {
+		return this.begin(OBJECT, '{', false);
+	}
+	
+	/**
+	 * Ends the current json object
+	 * @return This generator
+	 * @throws JsonException If the current container is not a json object
+	 */
+	public @NotNull JsonGenerator endObject() {
+		return this.end(OBJECT, '}');
+	}
+	
+	/**
+	 * Begins a new json array
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position
+	 */
+	public @NotNull JsonGenerator beginArray() {
+		return this.begin(ARRAY, '[', false);
+	}
+	
+	/**
+	 * Ends the current json array
+	 * @return This generator
+	 * @throws JsonException If the current container is not a json array
+	 */
+	public @NotNull JsonGenerator endArray() {
+		return this.end(ARRAY, ']');
+	}
+	//endregion
+	
+	/**
+	 * Writes the key of the next element of the current json object
+	 * @param name The key of the element
+	 * @return This generator
+	 * @throws NullPointerException If the key is null
+	 * @throws JsonException If the current container is not a json object or the key is blank and blank keys are not allowed
+	 */
+	public @NotNull JsonGenerator name(String name) {
+		Objects.requireNonNull(name, "Json key must not be null");
+		if (this.depth == 0 || this.types[this.depth - 1] != OBJECT || this.pendingName) {
+			throw new JsonException("Json key '" + name + "' is not allowed at the current position");
+		}
+		if (name.isBlank() && !this.config.allowBlankKeys()) {
+			throw new JsonException("Json key '" + name + "' is blank which is not allowed in this configuration");
+		}
+		this.separate();
+		this.writeQuoted(name);
+		this.write(this.config.prettyPrint() ? ": " : ":");
+		this.pendingName = true;
+		return this;
+	}
+	
+	//region Values
+	
+	/**
+	 * Writes the given string value
+	 * @param value The string value, null is written as json null
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position
+	 */
+	public @NotNull JsonGenerator value(String value) {
+		if (value == null) {
+			return this.nullValue();
+		}
+		this.beforeValue();
+		this.writeQuoted(value);
+		return this;
+	}
+	
+	/**
+	 * Writes the given number value
+	 * @param value The number value, null is written as json null
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position or the value is NaN or infinite
+	 */
+	public @NotNull JsonGenerator value(Number value) {
+		if (value == null) {
+			return this.nullValue();
+		}
+		if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+			throw new JsonException("Json number " + value + " is not finite and can not be written as json");
+		}
+		this.beforeValue();
+		this.write(new JsonNumber(value));
+		return this;
+	}
+	
+	/**
+	 * Writes the given boolean value
+	 * @param value The boolean value
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position
+	 */
+	public @NotNull JsonGenerator value(boolean value) {
+		this.beforeValue();
+		this.write(value ? "true" : "false");
+		return this;
+	}
+	
+	/**
+	 * Writes a json null value
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position
+	 */
+	public @NotNull JsonGenerator nullValue() {
+		this.beforeValue();
+		this.write("null");
+		return this;
+	}
+	
+	/**
+	 * Writes the given {@link Json} element by walking its tree
+	 * @param json The json element, null is written as json null
+	 * @return This generator
+	 * @throws JsonException If a value is not allowed at the current position
+	 */
+	public @NotNull JsonGenerator value(Json json) {
+		if (json == null || json.isNull()) {
+			return this.nullValue();
+		} else if (json instanceof JsonObject object) {
+			this.begin(OBJECT, '{', this.config.simplifyPrimitiveObjects() && isPrimitiveOnly(object));
+			for (Map.Entry<String, Json> entry : this.entries(object)) {
+				this.name(entry.getKey()).value(entry.getValue());
+			}
+			return this.endObject();
+		} else if (json instanceof JsonArray array) {
+			this.begin(ARRAY, '[', this.config.simplifyPrimitiveArrays() && isPrimitiveOnly(array));
+			for (Json element : array) {
+				this.value(element);
+			}
+			return this.endArray();
+		} else if (json.isString()) {
+			return this.value(json.getAsString());
+		} else if (json.isBoolean()) {
+			return this.value(json.getAsBoolean());
+		} else if (json instanceof JsonNumber number) {
+			this.beforeValue();
+			this.write(number);
+			return this;
+		}
+		this.beforeValue();
+		this.write(json.getAsString());
+		return this;
+	}
+	//endregion
+	
+	//region Helper methods
+	private @NotNull JsonGenerator begin(int type, char open, boolean inline) {
+		this.beforeValue();
+		this.write(open);
+		if (this.depth == this.types.length) {
+			this.types = Arrays.copyOf(this.types, this.depth * 2);
+			this.counts = Arrays.copyOf(this.counts, this.depth * 2);
+			this.inline = Arrays.copyOf(this.inline, this.depth * 2);
+		}
+		this.types[this.depth] = type;
+		this.counts[this.depth] = 0;
+		this.inline[this.depth] = inline || !this.config.prettyPrint();
+		this.depth++;
+		return this;
+	}
+	
+	private @NotNull JsonGenerator end(int type, char close) {
+		if (this.depth == 0 || this.types[this.depth - 1] != type || this.pendingName) {
+			throw new JsonException("Closing '" + close + "' is not allowed at the current position");
+		}
+		this.depth--;
+		if (this.counts[this.depth] > 0 && !this.inline[this.depth]) {
+			this.newLine();
+		}
+		this.write(close);
+		return this;
+	}
+	
+	private void beforeValue() {
+		if (this.depth == 0) {
+			return;
+		}
+		if (this.types[this.depth - 1] == OBJECT) {
+			if (!this.pendingName) {
+				throw new JsonException("Json values inside a json object require a key");
+			}
+			this.pendingName = false;
+		} else {
+			this.separate();
+		}
+	}
+	
+	private void separate() {
+		int index = this.depth - 1;
+		if (this.counts[index]++ > 0) {
+			this.write(',');
+			if (this.inline[index] && this.config.prettyPrint()) {
+				this.write(' ');
+			}
+		}
+		if (!this.inline[index]) {
+			this.newLine();
+		}
+	}
+	
+	private void newLine() {
+		this.write(System.lineSeparator());
+		for (int i = 0; i < this.depth; i++) {
+			this.write(this.config.indent());
+		}
+	}
+	
+	private void writeQuoted(String value) {
+		int length = value.length();
+		if (length > 1 && value.charAt(0) == '"' && value.charAt(length - 1) == '"') {
+			if (!this.config.allowQuotedStrings()) {
+				throw new JsonException("Quoted strings are not allowed in this configuration");
+			}
+			this.write("\"\\\"");
+			this.write(value, 1, length - 2);
+			this.write("\\\"\"");
+		} else {
+			this.write('"');
+			this.write(value, 0, length);
+			this.write('"');
+		}
+	}
+	
+	private void write(String value) {
+		this.write(value, 0, value.length());
+	}
+	
+	private void write(String value, int offset, int length) {
+		try {
+			this.writer.write(value, offset, length);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write json", e);
+		}
+	}
+	
+	private void write(JsonNumber number) {
+		try {
+			number.write(this.writer);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write json", e);
+		}
+	}
+	
+	private void write(char c) {
+		try {
+			this.writer.write(c);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write json", e);
+		}
+	}
+	
+	private @NotNull Iterable<Map.Entry<String, Json>> entries(JsonObject object) {
+		if (!this.config.sortKeys()) {
+			return object;
+		}
+		List<Map.Entry<String, Json>> entries = Lists.newArrayList(object);
+		entries.sort(Map.Entry.comparingByKey());
+		return entries;
+	}
+	
+	private static boolean isPrimitiveOnly(JsonObject object) {
+		for (Map.Entry<String, Json> entry : object) {
+			if (!entry.getValue().isPrimitive()) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean isPrimitiveOnly(JsonArray array) {
+		for (Json element : array) {
+			if (!element.isPrimitive()) {
+				return false;
+			}
+		}
+		return true;
+	}
+	//endregion
+}
@@ -0,0 +1,121 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.JsonString;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A bounded table which shares the keys of json objects and short {@link JsonString json strings} while parsing.<br>
+ * Keys and strings are looked up by their characters in the input, so a repeated key or string does not allocate a new instance.<br>
+ * Both tables are direct mapped, a key or string whose slot is already used by another value replaces the old value,
+ * so the memory of the interner stays bounded no matter how many distinct values are parsed.<br>
+ * An interner is not thread-safe, but it can be reused for multiple documents which are parsed on the same thread
+ *
+ * @see JsonParser
+ *
+ * @author Luis-St
+ */
+
+public final class JsonInterner {
+	
+	private final String[] keys;
+	private final JsonString[] values;
+	private final int maxValueLength;
+	
+	/**
+	 * Constructs a new {@link JsonInterner} with 4096 slots for keys and for strings, which shares strings of up to 32 characters
+	 */
+	public JsonInterner() {
+		this(4096, 32);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonInterner} with the given number of slots
+	 * @param capacity The number of slots for keys and for strings, rounded up to the next power of two
+	 * @param maxValueLength The maximum length of json strings which are shared, longer strings are never shared
+	 * @throws IllegalArgumentException If the capacity is not positive or greater than 2^30 or the maximum length is negative
+	 */
+	public JsonInterner(int capacity, int maxValueLength) {
+		//region Validation
+		if (0 >= capacity || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Capacity must be in range [1, " + (1 << 30) + "] but was " + capacity);
+		}
+		if (0 > maxValueLength) {
+			throw new IllegalArgumentException("Maximum value length must not be negative but was " + maxValueLength);
+		}
+		//endregion
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.keys = new String[Math.max(size, 1)];
+		this.values = new JsonString[Math.max(size, 1)];
+		this.maxValueLength = maxValueLength;
+	}
+	
+	/**
+	 * Gets the shared key for the given characters of the input
+	 * @param input The input which contains the key
+	 * @param start The index of the first character of the key
+	 * @param end The index after the last character of the key
+	 * @return The shared key
+	 */
+	public @NotNull String key(CharSequence input, int start, int end) {
+		int slot = hash(input, start, end) & (this.keys.length - 1);
+		String key = this.keys[slot];
+		if (key == null || !matches(key, input, start, end)) {
+			key = input.subSequence(start, end).toString();
+			this.keys[slot] = key;
+		}
+		return key;
+	}
+	
+	/**
+	 * Gets the shared {@link JsonString} for the given characters of the input.<br>
+	 * Strings which are longer than the maximum length of the interner are always created
+	 * @param input The input which contains the string
+	 * @param start The index of the first character of the string
+	 * @param end The index after the last character of the string
+	 * @return The shared json string
+	 */
+	public @NotNull JsonString value(CharSequence input, int start, int end) {
+		if (end - start > this.maxValueLength) {
+			return new JsonString(input.subSequence(start, end).toString());
+		}
+		int slot = hash(input, start, end) & (this.values.length - 1);
+		JsonString value = this.values[slot];
+		if (value == null || !matches(value.getAsString(), input, start, end)) {
+			value = new JsonString(input.subSequence(start, end).toString());
+			this.values[slot] = value;
+		}
+		return value;
+	}
+	
+	/**
+	 * Removes all keys and strings from the interner
+	 */
+	public void clear() {
+		Arrays.fill(this.keys, null);
+		Arrays.fill(this.values, null);
+	}
+	
+	//region Helper methods
+	private static int hash(CharSequence input, int start, int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + input.charAt(i);
+		}
+		return hash ^ (hash >>> 16);
+	}
+	
+	private static boolean matches(String value, CharSequence input, int start, int end) {
+		if (value.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) != input.charAt(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	//endregion
+}
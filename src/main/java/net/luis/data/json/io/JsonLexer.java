@@ -0,0 +1,221 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.exception.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * An index based lexer which splits json into {@link JsonToken tokens} in a single forward scan.<br>
+ * The lexer does not create any substrings while scanning, the bounds of the current token
+ * can be queried using {@link #tokenStart()} and {@link #tokenEnd()}
+ *
+ * @see JsonToken
+ * @see JsonParser
+ *
+ * @author Luis-St
+ */
+
+public final class JsonLexer {
+	
+	private final CharSequence input;
+	private final int start;
+	private final int end;
+	private int index;
+	private JsonToken token;
+	private int tokenStart;
+	private int tokenEnd;
+	
+	/**
+	 * Constructs a new {@link JsonLexer} for the given input
+	 * @param input The json input to scan
+	 * @throws NullPointerException If the input is null
+	 */
+	public JsonLexer(CharSequence input) {
+		this(input, 0, Objects.requireNonNull(input, "Json input must not be null").length());
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLexer} for the given range of the input
+	 * @param input The json input to scan
+	 * @param start The index of the first character to scan (inclusive)
+	 * @param end The index of the last character to scan (exclusive)
+	 * @throws NullPointerException If the input is null
+	 * @throws IndexOutOfBoundsException If the range is not within the input
+	 */
+	public JsonLexer(CharSequence input, int start, int end) {
+		this.input = Objects.requireNonNull(input, "Json input must not be null");
+		Objects.checkFromToIndex(start, end, input.length());
+		this.start = start;
+		this.end = end;
+		this.index = start;
+	}
+	
+	/**
+	 * @return The current position of the lexer in the input
+	 */
+	public int position() {
+		return this.index;
+	}
+	
+	/**
+	 * Moves the lexer to the given position in the input
+	 * @param position The new position
+	 * @throws IndexOutOfBoundsException If the position is not within the range of the lexer
+	 */
+	public void position(int position) {
+		if (this.start > position || position > this.end) {
+			throw new IndexOutOfBoundsException("Position " + position + " is out of range [" + this.start + ", " + this.end + "]");
+		}
+		this.index = position;
+		this.token = null;
+	}
+	
+	//region Token
+	
+	/**
+	 * @return The last token which was scanned by {@link #next()} or null if no token was scanned yet
+	 */
+	public JsonToken token() {
+		return this.token;
+	}
+	
+	/**
+	 * @return The index of the first character of the current token.<br>
+	 * For {@link JsonToken#STRING strings} the index of the first character after the opening quote
+	 */
+	public int tokenStart() {
+		return this.tokenStart;
+	}
+	
+	/**
+	 * @return The index after the last character of the current token.<br>
+	 * For {@link JsonToken#STRING strings} the index of the closing quote
+	 */
+	public int tokenEnd() {
+		return this.tokenEnd;
+	}
+	
+	/**
+	 * @return The input of the lexer, the current token is located at {@link #tokenStart()} to {@link #tokenEnd()}
+	 */
+	public @NotNull CharSequence input() {
+		return this.input;
+	}
+	
+	/**
+	 * @return The text of the current token, the content without quotes for {@link JsonToken#STRING strings}
+	 */
+	public @NotNull String text() {
+		return this.input.subSequence(this.tokenStart, this.tokenEnd).toString();
+	}
+	//endregion
+	
+	/**
+	 * Scans the next token without consuming it
+	 * @return The next token
+	 * @throws JsonSyntaxException If the next token is invalid
+	 */
+	public @NotNull JsonToken peek() {
+		int index = this.index;
+		JsonToken token = this.token;
+		int tokenStart = this.tokenStart;
+		int tokenEnd = this.tokenEnd;
+		JsonToken next = this.next();
+		this.index = index;
+		this.token = token;
+		this.tokenStart = tokenStart;
+		this.tokenEnd = tokenEnd;
+		return next;
+	}
+	
+	/**
+	 * Scans and consumes the next token
+	 * @return The next token
+	 * @throws JsonSyntaxException If the next token is invalid
+	 */
+	public @NotNull JsonToken next() {
+		this.skipWhitespace();
+		this.tokenStart = this.index;
+		if (this.index >= this.end) {
+			this.tokenEnd = this.index;
+			return this.token = JsonToken.END_OF_INPUT;
+		}
+		return this.token = switch (this.input.charAt(this.index)) {
+			case '{' -> this.single(JsonToken.BEGIN_OBJECT);
+			case '}' -> this.single(JsonToken.END_OBJECT);
+			case '[' -> this.single(JsonToken.BEGIN_ARRAY);
+			case ']' -> this.single(JsonToken.END_ARRAY);
+			case ':' -> this.single(JsonToken.COLON);
+			case ',' -> this.single(JsonToken.COMMA);
+			case '"' -> this.string();
+			default -> this.literal();
+		};
+	}
+	
+	//region Helper methods
+	private void skipWhitespace() {
+		while (this.index < this.end && Character.isWhitespace(this.input.charAt(this.index))) {
+			this.index++;
+		}
+	}
+	
+	private @NotNull JsonToken single(JsonToken token) {
+		this.index++;
+		this.tokenEnd = this.index;
+		return token;
+	}
+	
+	private @NotNull JsonToken string() {
+		int quote = this.index++;
+		while (this.index < this.end) {
+			char c = this.input.charAt(this.index);
+			if (c == '\\') {
+				this.index += 2;
+			} else if (c == '"') {
+				this.tokenStart = quote + 1;
+				this.tokenEnd = this.index++;
+				return JsonToken.STRING;
+			} else {
+				this.index++;
+			}
+		}
+		throw new JsonSyntaxException("Json string starting at index " + quote + " is not terminated");
+	}
+	
+	private @NotNull JsonToken literal() {
+		while (this.index < this.end && !isDelimiter(this.input.charAt(this.index))) {
+			this.index++;
+		}
+		this.tokenEnd = this.index;
+		if (this.matches("true", true)) {
+			return JsonToken.TRUE;
+		} else if (this.matches("false", true)) {
+			return JsonToken.FALSE;
+		} else if (this.matches("null", false)) {
+			return JsonToken.NULL;
+		}
+		return JsonToken.NUMBER;
+	}
+	
+	private boolean matches(String literal, boolean ignoreCase) {
+		if (this.tokenEnd - this.tokenStart != literal.length()) {
+			return false;
+		}
+		for (int i = 0; i < literal.length(); i++) {
+			char c = this.input.charAt(this.tokenStart + i);
+			if (c != literal.charAt(i) && (!ignoreCase || Character.toLowerCase(c) != literal.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean isDelimiter(char c) {
+		return switch (c) {
+			case '{', '}', '[', ']', ':', ',', '"' -> true;
+			default -> Character.isWhitespace(c);
+		};
+	}
+	//endregion
+}
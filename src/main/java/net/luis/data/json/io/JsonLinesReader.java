@@ -0,0 +1,234 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.Json;
+import net.luis.data.json.exception.JsonReaderIndexOutOfBoundsException;
+import net.luis.data.json.exception.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A reader for json lines (newline-delimited json) which contain one json value per line.<br>
+ * The input is read through one buffer which is shared by all lines, each line is parsed directly in the buffer,
+ * so no string and no {@link JsonReader} is created for a line. Blank lines are skipped,
+ * the indices in the messages of syntax errors are relative to the start of the line.<br>
+ * If the reader has a {@link JsonInterner}, the keys and short strings which are repeated between the lines are shared.<br>
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * try (JsonLinesReader reader = new JsonLinesReader(new File("events.ndjson"))) {
+ *     reader.stream().filter(json -> json.getAsObject().has("error")).forEach(System.out::println);
+ * }
+ * }</pre>
+ *
+ * @see JsonLinesWriter
+ *
+ * @author Luis-St
+ */
+
+public final class JsonLinesReader implements Iterator<Json>, AutoCloseable {
+	
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	private final Reader reader;
+	private final JsonInterner interner;
+	private char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private int lineStart;
+	private long line;
+	private boolean ended;
+	private Json next;
+	
+	/**
+	 * Constructs a new {@link JsonLinesReader} for the given utf-8 encoded file
+	 * @param file The file to read
+	 * @throws NullPointerException If the file is null
+	 * @throws RuntimeException If the file could not be opened
+	 */
+	public JsonLinesReader(File file) {
+		this(open(Objects.requireNonNull(file, "File must not be null")), null);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLinesReader} for the given channel which contains utf-8 encoded json lines
+	 * @param channel The channel to read from
+	 * @throws NullPointerException If the channel is null
+	 */
+	public JsonLinesReader(ReadableByteChannel channel) {
+		this(Channels.newReader(Objects.requireNonNull(channel, "Channel must not be null"), StandardCharsets.UTF_8), null);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLinesReader} for the given reader
+	 * @param reader The reader to read from
+	 * @throws NullPointerException If the reader is null
+	 */
+	public JsonLinesReader(Reader reader) {
+		this(reader, null);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLinesReader} for the given reader which shares repeated keys and short strings through the given interner
+	 * @param reader The reader to read from
+	 * @param interner The interner to use or null if keys and strings should not be shared
+	 * @throws NullPointerException If the reader is null
+	 */
+	public JsonLinesReader(Reader reader, JsonInterner interner) {
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		this.interner = interner;
+	}
+	
+	private static @NotNull Reader open(File file) {
+		try {
+			return Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not open file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+	
+	/**
+	 * @return True if there is another json line
+	 * @throws JsonSyntaxException If the next line is not valid json
+	 */
+	@Override
+	public boolean hasNext() {
+		if (this.next == null) {
+			this.next = this.read();
+		}
+		return this.next != null;
+	}
+	
+	/**
+	 * Reads the next json line
+	 * @return The json value of the next line
+	 * @throws JsonReaderIndexOutOfBoundsException If there are no more json lines
+	 * @throws JsonSyntaxException If the next line is not valid json
+	 */
+	@Override
+	public @NotNull Json next() {
+		//region Validation
+		if (!this.hasNext()) {
+			throw new JsonReaderIndexOutOfBoundsException("Json lines reader is at the end of the input");
+		}
+		//endregion
+		Json json = this.next;
+		this.next = null;
+		return json;
+	}
+	
+	/**
+	 * @return The number of the last line which was read, starting at 1
+	 */
+	public long getLine() {
+		return this.line;
+	}
+	
+	/**
+	 * Creates a sequential stream of the remaining json lines, closing the stream closes the reader
+	 * @return The stream of the json lines
+	 */
+	public @NotNull Stream<Json> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+	}
+	
+	/**
+	 * Closes the underlying reader
+	 * @throws RuntimeException If an error occurs while closing the reader
+	 */
+	@Override
+	public void close() {
+		try {
+			this.reader.close();
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to close json lines input", e);
+		}
+	}
+	
+	//region Helper methods
+	private Json read() {
+		while (true) {
+			int end = this.findLineEnd();
+			if (end == -1) {
+				return null;
+			}
+			this.line++;
+			if (isBlank(this.buffer, this.lineStart, end)) {
+				continue;
+			}
+			try {
+				return new JsonParser(new JsonLexer(CharBuffer.wrap(this.buffer, this.lineStart, end - this.lineStart)), this.interner).parse();
+			} catch (JsonSyntaxException e) {
+				throw new JsonSyntaxException("Invalid json in line " + this.line + ": " + e.getMessage(), e);
+			}
+		}
+	}
+	
+	private int findLineEnd() {
+		int index = this.position;
+		while (true) {
+			while (index < this.limit) {
+				if (this.buffer[index] == '\n') {
+					this.lineStart = this.position;
+					this.position = index + 1;
+					return index;
+				}
+				index++;
+			}
+			if (this.ended) {
+				if (this.position == this.limit) {
+					return -1;
+				}
+				this.lineStart = this.position;
+				this.position = this.limit;
+				return this.limit;
+			}
+			index -= this.fill();
+		}
+	}
+	
+	private int fill() {
+		int start = this.position;
+		if (start > 0) {
+			System.arraycopy(this.buffer, start, this.buffer, 0, this.limit - start);
+			this.limit -= start;
+			this.position = 0;
+		}
+		if (this.limit == this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+		}
+		try {
+			int read = 0;
+			while (read == 0) {
+				read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+			}
+			if (read == -1) {
+				this.ended = true;
+			} else {
+				this.limit += read;
+			}
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to read json lines input", e);
+		}
+		return start;
+	}
+	
+	private static boolean isBlank(char[] buffer, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isWhitespace(buffer[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	//endregion
+}
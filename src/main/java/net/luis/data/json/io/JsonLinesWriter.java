@@ -0,0 +1,199 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonNull;
+import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.mapping.JsonMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A writer for json lines (newline-delimited json) which writes one compact json value per line.<br>
+ * Control characters inside json strings are written as escape sequences, so a record never spans multiple lines.<br>
+ * The records are collected into batches, a batch is written and flushed to the underlying writer as soon as it contains the configured number of records,
+ * so the underlying writer is not flushed for every record. The last incomplete batch is written by {@link #flush()} or {@link #close()}.<br>
+ * Multiple records can be encoded in parallel using {@link #writeAll(Collection, boolean)}, they are still written in their original order.<br>
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * try (JsonLinesWriter writer = new JsonLinesWriter(new File("events.ndjson"), true)) {
+ *     writer.write(event);
+ * }
+ * }</pre>
+ *
+ * @see JsonLinesReader
+ *
+ * @author Luis-St
+ */
+
+public final class JsonLinesWriter implements Flushable, AutoCloseable {
+	
+	private static final int DEFAULT_BATCH_SIZE = 64;
+	
+	private final Writer writer;
+	private final JsonConfig config;
+	private final int batchSize;
+	private final StringBuilder batch = new StringBuilder();
+	private int records;
+	
+	/**
+	 * Constructs a new {@link JsonLinesWriter} which writes utf-8 encoded json lines to the given file
+	 * @param file The file to write to, the file is created if it does not exist
+	 * @param append Whether to append the records to the existing content of the file instead of replacing it
+	 * @throws NullPointerException If the file is null
+	 * @throws RuntimeException If the file could not be opened
+	 */
+	public JsonLinesWriter(File file, boolean append) {
+		this(open(Objects.requireNonNull(file, "File must not be null"), append), JsonConfig.DEFAULT, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLinesWriter} which writes utf-8 encoded json lines to the given channel
+	 * @param channel The channel to write to
+	 * @throws NullPointerException If the channel is null
+	 */
+	public JsonLinesWriter(WritableByteChannel channel) {
+		this(Channels.newWriter(Objects.requireNonNull(channel, "Channel must not be null"), StandardCharsets.UTF_8), JsonConfig.DEFAULT, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLinesWriter} which writes to the given writer
+	 * @param writer The writer to write to
+	 * @throws NullPointerException If the writer is null
+	 */
+	public JsonLinesWriter(Writer writer) {
+		this(writer, JsonConfig.DEFAULT, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonLinesWriter} which writes to the given writer
+	 * @param writer The writer to write to
+	 * @param config The config to use, the records are always written without pretty printing
+	 * @param batchSize The number of records which are collected before they are written and flushed
+	 * @throws NullPointerException If the writer or the config is null
+	 * @throws IllegalArgumentException If the batch size is not positive
+	 */
+	public JsonLinesWriter(Writer writer, JsonConfig config, int batchSize) {
+		this.writer = Objects.requireNonNull(writer, "Writer must not be null");
+		this.config = JsonConfig.builder(Objects.requireNonNull(config, "Json config must not be null")).prettyPrint(false).build();
+		if (0 >= batchSize) {
+			throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+	
+	private static @NotNull Writer open(File file, boolean append) {
+		try {
+			return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not open file '" + file.getAbsolutePath() + "'", e);
+		}
+	}
+	
+	/**
+	 * Writes the given json value as a record
+	 * @param json The json value to write, null is written as json null
+	 * @throws RuntimeException If an error occurs while writing a batch
+	 */
+	public void write(Json json) {
+		this.append((json == null ? JsonNull.INSTANCE : json).toString(this.config));
+	}
+	
+	/**
+	 * Writes the given object as a record using the given mapper
+	 * @param value The object to write, null is written as json null
+	 * @param mapper The mapper to use
+	 * @throws NullPointerException If the mapper is null
+	 * @throws JsonException If the object can not be mapped to json
+	 * @throws RuntimeException If an error occurs while writing a batch
+	 */
+	public void write(Object value, JsonMapper mapper) {
+		this.append(Objects.requireNonNull(mapper, "Json mapper must not be null").toJson(value, this.config));
+	}
+	
+	/**
+	 * Writes the given json values as records in the order of the collection
+	 * @param records The json values to write, null values are written as json null
+	 * @param parallel Whether to encode the records in parallel before they are written
+	 * @throws NullPointerException If the collection is null
+	 * @throws RuntimeException If an error occurs while writing a batch
+	 */
+	public void writeAll(Collection<? extends Json> records, boolean parallel) {
+		Objects.requireNonNull(records, "Records must not be null");
+		if (!parallel) {
+			records.forEach(this::write);
+			return;
+		}
+		List<String> lines = records.parallelStream().map(json -> (json == null ? JsonNull.INSTANCE : json).toString(this.config)).toList();
+		lines.forEach(this::append);
+	}
+	
+	/**
+	 * Writes the current batch and flushes the underlying writer
+	 * @throws RuntimeException If an error occurs while writing the batch
+	 */
+	@Override
+	public void flush() {
+		try {
+			if (!this.batch.isEmpty()) {
+				this.writer.append(this.batch);
+				this.batch.setLength(0);
+				this.records = 0;
+			}
+			this.writer.flush();
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write json lines", e);
+		}
+	}
+	
+	/**
+	 * Writes the current batch and closes the underlying writer
+	 * @throws RuntimeException If an error occurs while writing the batch or closing the writer
+	 */
+	@Override
+	public void close() {
+		this.flush();
+		try {
+			this.writer.close();
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to close json lines output", e);
+		}
+	}
+	
+	private void append(String line) {
+		int start = this.batch.length();
+		this.batch.append(line);
+		// Compact json contains no whitespace outside of strings, so every control character is part of a json string
+		for (int i = start; i < this.batch.length(); i++) {
+			char c = this.batch.charAt(i);
+			if (c < 0x20) {
+				String escaped = switch (c) {
+					case '\b' -> "\\b";
+					case '\f' -> "\\f";
+					case '\n' -> "\\n";
+					case '\r' -> "\\r";
+					case '\t' -> "\\t";
+					default -> "\\u00" + Character.forDigit(c >> 4, 16) + Character.forDigit(c & 0xF, 16);
+				};
+				this.batch.replace(i, i + 1, escaped);
+				i += escaped.length() - 1;
+			}
+		}
+		this.batch.append('\n');
+		if (++this.records >= this.batchSize) {
+			this.flush();
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonArray;
+import net.luis.data.json.exception.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A parser which parses the elements of a top-level json array in parallel.<br>
+ * A fast structural pass first finds the boundaries of the top-level elements by only tracking strings and brackets,
+ * then the elements are parsed independently of each other on a {@link ForkJoinPool} and assembled in their original order.<br>
+ * The content of the elements is validated when they are parsed, so syntax errors are reported by the element which contains them
+ *
+ * @see JsonParser
+ * @see JsonReader
+ *
+ * @author Luis-St
+ */
+
+public final class JsonParallelParser {
+	
+	private static final int MIN_ELEMENTS_PER_TASK = 16;
+	
+	private final CharSequence json;
+	private final int[] bounds;
+	private final int size;
+	
+	/**
+	 * Constructs a new {@link JsonParallelParser} and runs the structural pass over the given json input
+	 * @param json The json input, which must be a json array
+	 * @throws NullPointerException If the json input is null
+	 * @throws JsonSyntaxException If the json input is not a json array or its brackets are not balanced
+	 */
+	public JsonParallelParser(CharSequence json) {
+		this.json = Objects.requireNonNull(json, "Json input must not be null");
+		int[] bounds = new int[32];
+		int size = 0;
+		int index = skipWhitespace(json, 0);
+		if (index >= json.length() || json.charAt(index) != '[') {
+			throw new JsonSyntaxException("Expected " + JsonToken.BEGIN_ARRAY.getName() + " at index " + index);
+		}
+		int depth = 0;
+		int start = index + 1;
+		boolean string = false;
+		for (; index < json.length(); index++) {
+			char c = json.charAt(index);
+			if (string) {
+				if (c == '\\') {
+					index++;
+				} else if (c == '"') {
+					string = false;
+				}
+				continue;
+			}
+			switch (c) {
+				case '"' -> string = true;
+				case '[', '{' -> depth++;
+				case ']', '}' -> depth--;
+				case ',' -> {
+					if (depth == 1) {
+						if (size * 2 == bounds.length) {
+							bounds = Arrays.copyOf(bounds, bounds.length * 2);
+						}
+						bounds[size * 2] = start;
+						bounds[size * 2 + 1] = index;
+						size++;
+						start = index + 1;
+					}
+				}
+				default -> {}
+			}
+			if (depth == 0) {
+				break;
+			}
+		}
+		//region Validation
+		if (depth != 0 || string) {
+			throw new JsonSyntaxException("Json array starting at index " + skipWhitespace(json, 0) + " is not terminated");
+		}
+		if (json.charAt(index) != ']') {
+			throw new JsonSyntaxException("Expected " + JsonToken.END_ARRAY.getName() + " but found " + new JsonLexer(json, index, json.length()).next().getName() + " at index " + index);
+		}
+		int end = skipWhitespace(json, index + 1);
+		if (end < json.length()) {
+			throw new JsonSyntaxException("Expected " + JsonToken.END_OF_INPUT.getName() + " at index " + end);
+		}
+		//endregion
+		if (size > 0 || skipWhitespace(json, start) < index) {
+			if (size * 2 == bounds.length) {
+				bounds = Arrays.copyOf(bounds, bounds.length + 2);
+			}
+			bounds[size * 2] = start;
+			bounds[size * 2 + 1] = index;
+			size++;
+		}
+		this.bounds = bounds;
+		this.size = size;
+	}
+	
+	/**
+	 * @return The number of elements of the json array
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Parses the element at the given index
+	 * @param index The index of the element
+	 * @return The parsed element
+	 * @throws IndexOutOfBoundsException If the index is out of range
+	 * @throws JsonSyntaxException If the element is not valid json
+	 */
+	public @NotNull Json parse(int index) {
+		Objects.checkIndex(index, this.size);
+		JsonParser parser = new JsonParser(new JsonLexer(this.json, this.bounds[index * 2], this.bounds[index * 2 + 1]));
+		Json json = parser.parseValue();
+		parser.expectEnd();
+		return json;
+	}
+	
+	/**
+	 * Parses all elements of the json array on the common {@link ForkJoinPool}
+	 * @return The parsed json array
+	 * @throws JsonSyntaxException If an element is not valid json
+	 */
+	public @NotNull JsonArray parse() {
+		return this.parse(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Parses all elements of the json array on the given {@link ForkJoinPool}
+	 * @param pool The pool to parse the elements on
+	 * @return The parsed json array, the elements are in the same order as in the json input
+	 * @throws NullPointerException If the pool is null
+	 * @throws JsonSyntaxException If an element is not valid json
+	 */
+	public @NotNull JsonArray parse(ForkJoinPool pool) {
+		Objects.requireNonNull(pool, "Pool must not be null");
+		Json[] elements = new Json[this.size];
+		int threshold = Math.max(MIN_ELEMENTS_PER_TASK, this.size / (pool.getParallelism() * 8));
+		try {
+			pool.invoke(new ParseTask(elements, 0, this.size, threshold));
+		} catch (JsonSyntaxException e) {
+			throw e.getCause() instanceof JsonSyntaxException cause ? cause : e;
+		}
+		return new JsonArray(elements);
+	}
+	
+	/**
+	 * Creates a stream of the elements of the json array, the elements are parsed when they are consumed.<br>
+	 * The stream is sequential, it can be turned into a {@link Stream#parallel() parallel} stream which parses the elements on multiple threads.<br>
+	 * A syntax error of an element which is parsed on another thread of a parallel stream is rethrown by the {@link ForkJoinPool},
+	 * which wraps the original {@link JsonSyntaxException} as the cause of a new exception, unlike {@link #parse(ForkJoinPool)} which rethrows the original exception
+	 * @return The stream of the elements in the same order as in the json input
+	 */
+	public @NotNull Stream<Json> stream() {
+		return IntStream.range(0, this.size).mapToObj(this::parse);
+	}
+	
+	//region Helper methods
+	private static int skipWhitespace(CharSequence json, int index) {
+		while (index < json.length() && Character.isWhitespace(json.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+	//endregion
+	
+	//region Parse task
+	private final class ParseTask extends RecursiveAction {
+		
+		private final Json[] elements;
+		private final int start;
+		private final int end;
+		private final int threshold;
+		
+		private ParseTask(Json[] elements, int start, int end, int threshold) {
+			this.elements = elements;
+			this.start = start;
+			this.end = end;
+			this.threshold = threshold;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.threshold >= this.end - this.start) {
+				for (int i = this.start; i < this.end; i++) {
+					this.elements[i] = JsonParallelParser.this.parse(i);
+				}
+			} else {
+				int middle = (this.start + this.end) >>> 1;
+				invokeAll(new ParseTask(this.elements, this.start, middle, this.threshold), new ParseTask(this.elements, middle, this.end, this.threshold));
+			}
+		}
+	}
+	//endregion
+}
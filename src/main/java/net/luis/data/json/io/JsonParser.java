@@ -0,0 +1,225 @@
+package net.luis.data.json.io;
+
+import net.luis.data.json.*;
+import net.luis.data.json.exception.JsonSyntaxException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A recursive descent parser which builds a {@link Json} tree from the {@link JsonToken tokens} of a {@link JsonLexer}.<br>
+ * The whole tree is built in one forward scan over the input without creating intermediate substrings.<br>
+ * If the parser has a {@link JsonInterner}, repeated keys and short strings are shared instead of being created for each occurrence
+ *
+ * @see JsonLexer
+ * @see JsonReader
+ *
+ * @author Luis-St
+ */
+
+public final class JsonParser {
+	
+	private final JsonLexer lexer;
+	private final JsonInterner interner;
+	
+	/**
+	 * Constructs a new {@link JsonParser} for the given json input
+	 * @param json The json input to parse
+	 * @throws NullPointerException If the json input is null
+	 */
+	public JsonParser(CharSequence json) {
+		this(new JsonLexer(json));
+	}
+	
+	/**
+	 * Constructs a new {@link JsonParser} which reads the tokens from the given lexer
+	 * @param lexer The lexer to use
+	 * @throws NullPointerException If the lexer is null
+	 */
+	public JsonParser(JsonLexer lexer) {
+		this(lexer, null);
+	}
+	
+	/**
+	 * Constructs a new {@link JsonParser} which reads the tokens from the given lexer and shares keys and strings through the given interner
+	 * @param lexer The lexer to use
+	 * @param interner The interner to use or null if keys and strings should not be shared
+	 * @throws NullPointerException If the lexer is null
+	 */
+	public JsonParser(JsonLexer lexer, JsonInterner interner) {
+		this.lexer = Objects.requireNonNull(lexer, "Json lexer must not be null");
+		this.interner = interner;
+	}
+	
+	/**
+	 * @return The current position of the parser in the input
+	 */
+	public int position() {
+		return this.lexer.position();
+	}
+	
+	/**
+	 * Moves the parser to the given position in the input
+	 * @param position The new position
+	 */
+	public void position(int position) {
+		this.lexer.position(position);
+	}
+	
+	/**
+	 * @return The next token without consuming it
+	 */
+	public @NotNull JsonToken peek() {
+		return this.lexer.peek();
+	}
+	
+	/**
+	 * Parses the remaining input into a {@link Json} element.<br>
+	 * Empty input results in an empty {@link JsonObject}, a single key value pair without braces results in a json object with one element
+	 * @return The parsed json element
+	 * @throws JsonSyntaxException If the input is not valid json
+	 */
+	public @NotNull Json parse() {
+		int position = this.lexer.position();
+		Json json;
+		if (this.lexer.next() == JsonToken.END_OF_INPUT) {
+			return new JsonObject();
+		} else if (this.lexer.token() == JsonToken.STRING && this.lexer.peek() == JsonToken.COLON) {
+			this.lexer.position(position);
+			json = this.parseMember();
+		} else {
+			this.lexer.position(position);
+			json = this.parseValue();
+		}
+		this.expectEnd();
+		return json;
+	}
+	
+	/**
+	 * Parses the next json value
+	 * @return The parsed json value
+	 * @throws JsonSyntaxException If the next value is not valid json
+	 */
+	public @NotNull Json parseValue() {
+		JsonToken token = this.lexer.next();
+		return switch (token) {
+			case BEGIN_OBJECT -> this.parseObject();
+			case BEGIN_ARRAY -> this.parseArray();
+			case STRING -> this.interner == null ? new JsonString(this.lexer.text()) : this.interner.value(this.lexer.input(), this.lexer.tokenStart(), this.lexer.tokenEnd());
+			case NUMBER -> this.parseNumber();
+			case TRUE -> JsonBoolean.TRUE;
+			case FALSE -> JsonBoolean.FALSE;
+			case NULL -> JsonNull.INSTANCE;
+			default -> throw this.unexpected(token, "json value");
+		};
+	}
+	
+	//region Reader methods
+	
+	/**
+	 * Consumes the opening token of a json object or array
+	 * @param open The opening token
+	 * @param close The closing token
+	 * @return True if the container has elements, false if it is empty and was closed
+	 */
+	boolean beginContainer(JsonToken open, JsonToken close) {
+		this.expect(open);
+		if (this.lexer.peek() == close) {
+			this.lexer.next();
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Parses a single key value pair
+	 * @return A json object which contains only the parsed pair
+	 */
+	@NotNull JsonObject parseMember() {
+		String key = this.parseKey();
+		return new JsonObject(key, this.parseValue());
+	}
+	
+	/**
+	 * Consumes the separator after an element of a json object or array
+	 * @param close The closing token of the container
+	 * @return True if another element follows, false if the container was closed
+	 */
+	boolean parseSeparator(JsonToken close) {
+		JsonToken token = this.lexer.next();
+		if (token == JsonToken.COMMA) {
+			return true;
+		} else if (token == close) {
+			return false;
+		}
+		throw this.unexpected(token, JsonToken.COMMA.getName() + " or " + close.getName());
+	}
+	
+	/**
+	 * Ensures that there is no remaining input
+	 */
+	void expectEnd() {
+		this.expect(JsonToken.END_OF_INPUT);
+	}
+	//endregion
+	
+	//region Helper methods
+	private @NotNull JsonObject parseObject() {
+		JsonObject object = new JsonObject();
+		if (this.lexer.peek() == JsonToken.END_OBJECT) {
+			this.lexer.next();
+			return object;
+		}
+		do {
+			String key = this.parseKey();
+			object.add(key, this.parseValue());
+		} while (this.parseSeparator(JsonToken.END_OBJECT));
+		return object;
+	}
+	
+	private @NotNull JsonArray parseArray() {
+		JsonArray array = new JsonArray();
+		if (this.lexer.peek() == JsonToken.END_ARRAY) {
+			this.lexer.next();
+			return array;
+		}
+		do {
+			array.add(this.parseValue());
+		} while (this.parseSeparator(JsonToken.END_ARRAY));
+		return array;
+	}
+	
+	private @NotNull String parseKey() {
+		JsonToken token = this.lexer.next();
+		if (token != JsonToken.STRING) {
+			throw this.unexpected(token, "json key");
+		}
+		if (this.lexer.tokenStart() == this.lexer.tokenEnd()) {
+			throw new JsonSyntaxException("Json key at index " + this.lexer.tokenStart() + " is empty");
+		}
+		String key = this.interner == null ? this.lexer.text() : this.interner.key(this.lexer.input(), this.lexer.tokenStart(), this.lexer.tokenEnd());
+		this.expect(JsonToken.COLON);
+		return key;
+	}
+	
+	private @NotNull JsonNumber parseNumber() {
+		String value = this.lexer.text();
+		try {
+			return JsonNumber.parse(value);
+		} catch (NumberFormatException e) {
+			throw new JsonSyntaxException("Invalid json value '" + value + "' at index " + this.lexer.tokenStart(), e);
+		}
+	}
+	
+	private void expect(JsonToken expected) {
+		JsonToken token = this.lexer.next();
+		if (token != expected) {
+			throw this.unexpected(token, expected.getName());
+		}
+	}
+	
+	private @NotNull JsonSyntaxException unexpected(JsonToken token, String expected) {
+		return new JsonSyntaxException("Expected " + expected + " but found " + token.getName() + " at index " + this.lexer.tokenStart());
+	}
+	//endregion
+}
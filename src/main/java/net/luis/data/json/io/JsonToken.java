@@ -0,0 +1,40 @@
+package net.luis.data.json.io;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Tokens which are produced by the {@link JsonLexer}
+ *
+ * @see JsonLexer
+ *
+ * @author Luis-St
+ */
+
+public enum JsonToken {
+	
+	BEGIN_OBJECT("'{'"),
+	END_OBJECT("'}'"),
+	BEGIN_ARRAY("'['"),
+	END_ARRAY("']'"),
+	COLON("':'"),
+	COMMA("','"),
+	STRING("string"),
+	NUMBER("number"),
+	TRUE("true"),
+	FALSE("false"),
+	NULL("null"),
+	END_OF_INPUT("end of input");
+	
+	private final String name;
+	
+	JsonToken(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * @return The name of the token which is used in error messages
+	 */
+	public @NotNull String getName() {
+		return this.name;
+	}
+}
@@ -1,16 +1,23 @@
 package net.luis.data.json.io;
 
+import net.luis.data.cryption.CryptionEngine;
 import net.luis.data.internal.io.AbstractWriter;
+import net.luis.data.json.Json;
 import net.luis.data.json.JsonObject;
 import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.mapping.JsonMapper;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.util.Objects;
 
 /**
- * A writer for {@link JsonObject JsonObjects} to write them to a file
+ * A writer for {@link JsonObject JsonObjects} to write them to a file.<br>
+ * Json can also be streamed into the file using the generator methods like {@link #beginObject()}, {@link #name(String)} and {@link #value(Json)}
  *
  * @see JsonObject
+ * @see JsonGenerator
  * @see AbstractWriter
  *
  * @author Luis-St
@@ -18,6 +25,8 @@ import java.util.Objects;
 
 public class JsonWriter extends AbstractWriter<JsonConfig> {
 	
+	private final JsonGenerator generator = new JsonGenerator(this.writer, this.config);
+	
 	/**
 	 * Constructs a new {@link JsonWriter} with the given file using the {@link JsonConfig#DEFAULT}
 	 * @param file The file to write to as a string
@@ -52,11 +61,105 @@ public class JsonWriter extends AbstractWriter<JsonConfig> {
 		super(file, config);
 	}
 	
+	/**
+	 * Constructs a new {@link JsonWriter} with the given file and config which encrypts the written data with the given engine
+	 * @param file The file to write to
+	 * @param config The config to use
+	 * @param engine The engine to encrypt the data with
+	 * @throws IllegalArgumentException If the config allows appending to the file
+	 */
+	public JsonWriter(File file, JsonConfig config, CryptionEngine engine) {
+		super(file, config, Objects.requireNonNull(engine, "Engine must not be null"));
+	}
+	
 	@Override
 	protected boolean isExtensionNotAllowed(String extension) {
 		return extension == null || !extension.equals("json");
 	}
 	
+	//region Generator
+	
+	/**
+	 * Delegates to {@link JsonGenerator#beginObject()}
+	 */
+	public @NotNull JsonWriter beginObject() {
+		this.generator.beginObject();
+		return this;
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#endObject()}
+	 */
+	public @NotNull JsonWriter endObject() {
+		this.generator.endObject();
+		return this.endRoot();
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#beginArray()}
+	 */
+	public @NotNull JsonWriter beginArray() {
+		this.generator.beginArray();
+		return this;
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#endArray()}
+	 */
+	public @NotNull JsonWriter endArray() {
+		this.generator.endArray();
+		return this.endRoot();
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#name(String)}
+	 */
+	public @NotNull JsonWriter name(String name) {
+		this.generator.name(name);
+		return this;
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#value(String)}
+	 */
+	public @NotNull JsonWriter value(String value) {
+		this.generator.value(value);
+		return this.endRoot();
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#value(Number)}
+	 */
+	public @NotNull JsonWriter value(Number value) {
+		this.generator.value(value);
+		return this.endRoot();
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#value(boolean)}
+	 */
+	public @NotNull JsonWriter value(boolean value) {
+		this.generator.value(value);
+		return this.endRoot();
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#nullValue()}
+	 */
+	public @NotNull JsonWriter nullValue() {
+		this.generator.nullValue();
+		return this.endRoot();
+	}
+	
+	/**
+	 * Delegates to {@link JsonGenerator#value(Json)}
+	 */
+	public @NotNull JsonWriter value(Json json) {
+		this.generator.value(json);
+		return this.endRoot();
+	}
+	//endregion
+	
 	/**
 	 * Writes the given {@link JsonObject} to the file
 	 * @param object The object to write
@@ -64,15 +167,30 @@ public class JsonWriter extends AbstractWriter<JsonConfig> {
 	 * @throws RuntimeException If an error occurs while writing the object to the file
 	 */
 	public void write(JsonObject object) {
-		String json = Objects.requireNonNull(object, "Json object must not be null").toString(this.config);
-		try {
-			this.writer.write(this.removeLastIndent(json) + System.lineSeparator());
-		} catch (Exception e) {
-			throw new RuntimeException("Failed to write json object to file", e);
-		}
+		this.value(Objects.requireNonNull(object, "Json object must not be null"));
 	}
 	
-	private String removeLastIndent(String json) {
-		return this.config.prettyPrint() ? json.substring(0, json.length() - this.config.indent().length() - 1) + "}" : json;
+	/**
+	 * Writes the given object to the file using the given mapper, the object is streamed into the file without building a json tree
+	 * @param value The object to write, null is written as json null
+	 * @param mapper The mapper to use
+	 * @throws NullPointerException If the mapper is null
+	 * @throws JsonException If the object can not be mapped to json
+	 * @throws RuntimeException If an error occurs while writing the object to the file
+	 */
+	public void write(Object value, JsonMapper mapper) {
+		Objects.requireNonNull(mapper, "Json mapper must not be null").write(this.generator, value);
+		this.endRoot();
+	}
+	
+	private @NotNull JsonWriter endRoot() {
+		if (this.generator.getDepth() == 0) {
+			try {
+				this.writer.write(System.lineSeparator());
+			} catch (Exception e) {
+				throw new RuntimeException("Failed to write json to file", e);
+			}
+		}
+		return this;
 	}
 }
@@ -0,0 +1,60 @@
+package net.luis.data.json.mapping;
+
+import net.luis.data.json.io.JsonEventReader;
+import net.luis.data.json.io.JsonGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A codec which streams values of a type directly between objects and json without building a {@link net.luis.data.json.Json} tree.<br>
+ * Null values are handled by the {@link JsonMapper}, so a codec never writes or reads null
+ *
+ * @see JsonMapper
+ *
+ * @author Luis-St
+ */
+
+public interface JsonCodec<T> {
+	
+	/**
+	 * Creates a new codec from the given functions
+	 * @param encoder The function which writes a value
+	 * @param decoder The function which reads a value
+	 * @return The codec
+	 * @param <T> The type of the values
+	 * @throws NullPointerException If the encoder or the decoder is null
+	 */
+	static <T> @NotNull JsonCodec<T> of(BiConsumer<JsonGenerator, T> encoder, Function<JsonEventReader, T> decoder) {
+		Objects.requireNonNull(encoder, "Encoder must not be null");
+		Objects.requireNonNull(decoder, "Decoder must not be null");
+		return new JsonCodec<>() {
+			@Override
+			public void write(JsonGenerator generator, T value) {
+				encoder.accept(generator, value);
+			}
+			
+			@Override
+			public T read(JsonEventReader reader) {
+				return decoder.apply(reader);
+			}
+		};
+	}
+	
+	/**
+	 * Writes the given value into the generator
+	 * @param generator The generator to write to
+	 * @param value The value to write, never null
+	 */
+	void write(JsonGenerator generator, T value);
+	
+	/**
+	 * Reads a value which starts at the current event of the reader.<br>
+	 * After reading the current event must be the last event of the value
+	 * @param reader The reader to read from
+	 * @return The read value, never null
+	 */
+	T read(JsonEventReader reader);
+}
@@ -0,0 +1,294 @@
+package net.luis.data.json.mapping;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import net.luis.data.json.Json;
+import net.luis.data.json.JsonNumber;
+import net.luis.data.json.JsonString;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.io.JsonEvent;
+import net.luis.data.json.io.JsonEventReader;
+import net.luis.data.json.io.JsonGenerator;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Helper class which creates the built-in {@link JsonCodec codecs} of the {@link JsonMapper}
+ *
+ * @author Luis-St
+ */
+
+@ApiStatus.Internal
+class JsonCodecs {
+	
+	/**
+	 * Registers the codecs of strings, primitives, their wrappers and big numbers
+	 * @param mapper The mapper which owns the codecs
+	 * @param codecs The codecs of the mapper
+	 */
+	static void registerDefaults(JsonMapper mapper, Map<Type, JsonCodec<?>> codecs) {
+		JsonCodec<Boolean> bool = JsonCodec.of(JsonGenerator::value, reader -> {
+			expect(reader, JsonEvent.VALUE_BOOLEAN);
+			return reader.getAsBoolean();
+		});
+		JsonCodec<Integer> integer = JsonCodec.of(JsonGenerator::value, reader -> (int) readInteger(reader, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		JsonCodec<Long> longs = JsonCodec.of(JsonGenerator::value, reader -> readInteger(reader, Long.MIN_VALUE, Long.MAX_VALUE));
+		JsonCodec<Short> shorts = JsonCodec.of(JsonGenerator::value, reader -> (short) readInteger(reader, Short.MIN_VALUE, Short.MAX_VALUE));
+		JsonCodec<Byte> bytes = JsonCodec.of(JsonGenerator::value, reader -> (byte) readInteger(reader, Byte.MIN_VALUE, Byte.MAX_VALUE));
+		JsonCodec<Double> doubles = JsonCodec.of(JsonGenerator::value, reader -> {
+			expect(reader, JsonEvent.VALUE_NUMBER);
+			return reader.getAsDouble();
+		});
+		JsonCodec<Float> floats = JsonCodec.of(JsonGenerator::value, reader -> {
+			expect(reader, JsonEvent.VALUE_NUMBER);
+			return (float) reader.getAsDouble();
+		});
+		JsonCodec<Character> chars = JsonCodec.of((generator, value) -> generator.value(JsonString.escape(String.valueOf(value))), reader -> {
+			String value = readString(reader);
+			if (value.length() != 1) {
+				throw new JsonException("Json string '" + value + "' can not be mapped to a character");
+			}
+			return value.charAt(0);
+		});
+		codecs.put(boolean.class, bool);
+		codecs.put(Boolean.class, bool);
+		codecs.put(int.class, integer);
+		codecs.put(Integer.class, integer);
+		codecs.put(long.class, longs);
+		codecs.put(Long.class, longs);
+		codecs.put(short.class, shorts);
+		codecs.put(Short.class, shorts);
+		codecs.put(byte.class, bytes);
+		codecs.put(Byte.class, bytes);
+		codecs.put(double.class, doubles);
+		codecs.put(Double.class, doubles);
+		codecs.put(float.class, floats);
+		codecs.put(Float.class, floats);
+		codecs.put(char.class, chars);
+		codecs.put(Character.class, chars);
+		codecs.put(String.class, JsonCodec.<String>of((generator, value) -> generator.value(JsonString.escape(value)), JsonCodecs::readString));
+		codecs.put(Number.class, JsonCodec.<Number>of(JsonGenerator::value, reader -> readNumber(reader).getAsNumber()));
+		codecs.put(BigDecimal.class, JsonCodec.of(JsonGenerator::value, reader -> readNumber(reader).getAsBigDecimal()));
+		codecs.put(BigInteger.class, JsonCodec.of(JsonGenerator::value, reader -> {
+			try {
+				return readNumber(reader).getAsBigDecimal().toBigIntegerExact();
+			} catch (ArithmeticException e) {
+				throw new JsonException("Json number " + reader.getAsString() + " can not be mapped to an integer", e);
+			}
+		}));
+		// Values of type object are written by their runtime type, but read as plain java values because the json does not contain the type
+		codecs.put(Object.class, JsonCodec.<Object>of((generator, value) -> {
+			if (value.getClass() == Object.class) {
+				throw new JsonException("Type " + Object.class.getName() + " can not be mapped to json");
+			}
+			if (value instanceof Collection<?>) {
+				mapper.writeValue(generator, Collection.class, value);
+			} else if (value instanceof Map<?, ?>) {
+				mapper.writeValue(generator, Map.class, value);
+			} else {
+				mapper.writeValue(generator, value.getClass(), value);
+			}
+		}, JsonCodecs::readPlain));
+	}
+	
+	//region Factories
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static @NotNull JsonCodec<?> forEnum(Class<?> type) {
+		Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+		return JsonCodec.<Enum<?>>of((generator, value) -> generator.value(JsonString.escape(value.name())), reader -> {
+			String name = readString(reader);
+			try {
+				return Enum.valueOf(enumType, name);
+			} catch (IllegalArgumentException e) {
+				throw new JsonException("Json string '" + name + "' is not a constant of " + enumType.getName(), e);
+			}
+		});
+	}
+	
+	static @NotNull JsonCodec<?> forJson(Class<?> type) {
+		return JsonCodec.<Json>of(JsonGenerator::value, reader -> {
+			Json json = reader.readJson();
+			if (!type.isInstance(json)) {
+				throw new JsonException("Json element " + json.getName() + " can not be mapped to " + type.getName());
+			}
+			return json;
+		});
+	}
+	
+	static @NotNull JsonCodec<?> forArray(JsonMapper mapper, Type componentType) {
+		Class<?> component = rawType(componentType);
+		return JsonCodec.of((generator, value) -> {
+			generator.beginArray();
+			for (int i = 0, length = Array.getLength(value); i < length; i++) {
+				mapper.writeValue(generator, componentType, Array.get(value, i));
+			}
+			generator.endArray();
+		}, reader -> {
+			expect(reader, JsonEvent.START_ARRAY);
+			List<Object> elements = Lists.newArrayList();
+			while (reader.next() != JsonEvent.END_ARRAY) {
+				elements.add(mapper.readValue(reader, componentType));
+			}
+			Object array = Array.newInstance(component, elements.size());
+			for (int i = 0; i < elements.size(); i++) {
+				Array.set(array, i, elements.get(i));
+			}
+			return array;
+		});
+	}
+	
+	static @NotNull JsonCodec<?> forCollection(JsonMapper mapper, Class<?> type, Type elementType) {
+		Supplier<Collection<Object>> factory = collectionFactory(type);
+		return JsonCodec.<Collection<?>>of((generator, value) -> {
+			generator.beginArray();
+			for (Object element : value) {
+				mapper.writeValue(generator, elementType, element);
+			}
+			generator.endArray();
+		}, reader -> {
+			expect(reader, JsonEvent.START_ARRAY);
+			Collection<Object> collection = factory.get();
+			while (reader.next() != JsonEvent.END_ARRAY) {
+				collection.add(mapper.readValue(reader, elementType));
+			}
+			return collection;
+		});
+	}
+	
+	static @NotNull JsonCodec<?> forMap(JsonMapper mapper, Class<?> type, Type keyType, Type valueType) {
+		if (keyType != String.class && keyType != Object.class) {
+			throw new JsonException("Map with key type " + keyType.getTypeName() + " can not be mapped to json, only string keys are supported");
+		}
+		Supplier<Map<Object, Object>> factory = mapFactory(type);
+		return JsonCodec.<Map<?, ?>>of((generator, value) -> {
+			generator.beginObject();
+			for (Map.Entry<?, ?> entry : value.entrySet()) {
+				generator.name(JsonString.escape(String.valueOf(entry.getKey())));
+				mapper.writeValue(generator, valueType, entry.getValue());
+			}
+			generator.endObject();
+		}, reader -> {
+			expect(reader, JsonEvent.START_OBJECT);
+			Map<Object, Object> map = factory.get();
+			while (reader.next() != JsonEvent.END_OBJECT) {
+				String key = JsonString.unescape(reader.getAsString());
+				reader.next();
+				map.put(key, mapper.readValue(reader, valueType));
+			}
+			return map;
+		});
+	}
+	//endregion
+	
+	//region Helper methods
+	static void expect(JsonEventReader reader, JsonEvent event) {
+		if (reader.getEvent() != event) {
+			throw new JsonException("Expected json event " + event + " but found " + reader.getEvent());
+		}
+	}
+	
+	static @NotNull Class<?> rawType(Type type) {
+		if (type instanceof Class<?> clazz) {
+			return clazz;
+		} else if (type instanceof ParameterizedType parameterized) {
+			return rawType(parameterized.getRawType());
+		} else if (type instanceof GenericArrayType array) {
+			return Array.newInstance(rawType(array.getGenericComponentType()), 0).getClass();
+		} else if (type instanceof WildcardType wildcard) {
+			return rawType(wildcard.getUpperBounds()[0]);
+		} else if (type instanceof TypeVariable<?> variable) {
+			return rawType(variable.getBounds()[0]);
+		}
+		return Object.class;
+	}
+	
+	private static @NotNull String readString(JsonEventReader reader) {
+		expect(reader, JsonEvent.VALUE_STRING);
+		return JsonString.unescape(reader.getAsString());
+	}
+	
+	private static Object readPlain(JsonEventReader reader) {
+		return switch (reader.getEvent()) {
+			case START_OBJECT -> {
+				Map<String, Object> map = Maps.newLinkedHashMap();
+				while (reader.next() != JsonEvent.END_OBJECT) {
+					String key = JsonString.unescape(reader.getAsString());
+					reader.next();
+					map.put(key, readPlain(reader));
+				}
+				yield map;
+			}
+			case START_ARRAY -> {
+				List<Object> list = Lists.newArrayList();
+				while (reader.next() != JsonEvent.END_ARRAY) {
+					list.add(readPlain(reader));
+				}
+				yield list;
+			}
+			case VALUE_STRING -> JsonString.unescape(reader.getAsString());
+			case VALUE_NUMBER -> readNumber(reader).getAsNumber();
+			case VALUE_BOOLEAN -> reader.getAsBoolean();
+			case VALUE_NULL -> null;
+			default -> throw new JsonException("Expected a json value but found json event " + reader.getEvent());
+		};
+	}
+	
+	private static @NotNull JsonNumber readNumber(JsonEventReader reader) {
+		expect(reader, JsonEvent.VALUE_NUMBER);
+		return JsonNumber.parse(reader.getAsString());
+	}
+	
+	private static long readInteger(JsonEventReader reader, long min, long max) {
+		expect(reader, JsonEvent.VALUE_NUMBER);
+		long value;
+		try {
+			value = reader.getAsLong();
+		} catch (NumberFormatException e) {
+			throw new JsonException("Json number " + reader.getAsString() + " can not be mapped to an integer", e);
+		}
+		if (min > value || value > max) {
+			throw new JsonException("Json number " + value + " is out of range [" + min + ", " + max + "]");
+		}
+		return value;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static @NotNull Supplier<Collection<Object>> collectionFactory(Class<?> type) {
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			if (type.isAssignableFrom(ArrayList.class)) {
+				return Lists::newArrayList;
+			} else if (type.isAssignableFrom(LinkedHashSet.class)) {
+				return Sets::newLinkedHashSet;
+			} else if (type.isAssignableFrom(TreeSet.class)) {
+				return TreeSet::new;
+			} else if (type.isAssignableFrom(ArrayDeque.class)) {
+				return ArrayDeque::new;
+			}
+			throw new JsonException("Collection type " + type.getName() + " can not be created");
+		}
+		Supplier<Object> constructor = JsonObjectCodec.constructor(type);
+		return () -> (Collection<Object>) constructor.get();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static @NotNull Supplier<Map<Object, Object>> mapFactory(Class<?> type) {
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			if (type.isAssignableFrom(LinkedHashMap.class)) {
+				return Maps::newLinkedHashMap;
+			} else if (type.isAssignableFrom(TreeMap.class)) {
+				return TreeMap::new;
+			}
+			throw new JsonException("Map type " + type.getName() + " can not be created");
+		}
+		Supplier<Object> constructor = JsonObjectCodec.constructor(type);
+		return () -> (Map<Object, Object>) constructor.get();
+	}
+	//endregion
+}
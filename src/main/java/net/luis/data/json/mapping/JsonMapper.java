@@ -0,0 +1,279 @@
+package net.luis.data.json.mapping;
+
+import com.google.common.collect.Maps;
+import net.luis.data.json.Json;
+import net.luis.data.json.config.JsonConfig;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.io.JsonEvent;
+import net.luis.data.json.io.JsonEventReader;
+import net.luis.data.json.io.JsonGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * A mapper which maps records and plain java objects to and from json.<br>
+ * Values are streamed directly into a {@link JsonGenerator} and out of a {@link JsonEventReader}, no {@link Json} tree is built in between.<br>
+ * The {@link JsonCodec codec} of a type is created once and cached by the mapper, the components of records and the fields of objects
+ * are accessed through {@link java.lang.invoke.MethodHandle method handles} which are resolved when the codec is created.<br>
+ * <br>
+ * Supported out of the box are strings, primitives and their wrappers, big numbers, enums, {@link Json} elements,
+ * arrays, collections, maps with string keys, records and classes with a no-argument constructor.<br>
+ * Other types can be supported by {@link #register(Class, JsonCodec) registering} a custom codec.<br>
+ * Values of type {@link Object}, e.g. the values of a {@code Map<String, Object>}, are written by their runtime type,
+ * but they are read as plain java values: strings, numbers, booleans, null, lists and maps.
+ * So an object or a set which is stored in such a value is read back as a map or a list.<br>
+ * Doubles and floats which are NaN or infinite can not be written, since json does not support them.<br>
+ * <br>
+ * Usage:
+ * <pre>{@code
+ * JsonMapper mapper = new JsonMapper();
+ * String json = mapper.toJson(new Point(1, 2), JsonConfig.DEFAULT);
+ * Point point = mapper.fromJson(json, Point.class);
+ * }</pre>
+ *
+ * @see JsonCodec
+ *
+ * @author Luis-St
+ */
+
+public final class JsonMapper {
+	
+	private final Map<Type, JsonCodec<?>> codecs = Maps.newConcurrentMap();
+	
+	/**
+	 * Constructs a new {@link JsonMapper} with the default codecs
+	 */
+	public JsonMapper() {
+		JsonCodecs.registerDefaults(this, this.codecs);
+	}
+	
+	/**
+	 * Registers the given codec for the given type, a previously registered or created codec of the type is replaced
+	 * @param type The type of the values
+	 * @param codec The codec of the type
+	 * @param <T> The type of the values
+	 * @throws NullPointerException If the type or the codec is null
+	 */
+	public <T> void register(Class<T> type, JsonCodec<T> codec) {
+		Objects.requireNonNull(type, "Type must not be null");
+		Objects.requireNonNull(codec, "Codec must not be null");
+		this.codecs.put(type, codec);
+	}
+	
+	/**
+	 * Gets the codec of the given type, the codec is created and cached if the type has no codec yet
+	 * @param type The type of the values
+	 * @return The codec of the type
+	 * @param <T> The type of the values
+	 * @throws NullPointerException If the type is null
+	 * @throws JsonException If the type can not be mapped
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> @NotNull JsonCodec<T> getCodec(Class<T> type) {
+		return (JsonCodec<T>) this.getCodec((Type) type);
+	}
+	
+	/**
+	 * Gets the codec of the given generic type, the codec is created and cached if the type has no codec yet
+	 * @param type The generic type of the values, e.g. the type of a {@code List<String>} field
+	 * @return The codec of the type
+	 * @throws NullPointerException If the type is null
+	 * @throws JsonException If the type can not be mapped
+	 */
+	public @NotNull JsonCodec<?> getCodec(Type type) {
+		Objects.requireNonNull(type, "Type must not be null");
+		JsonCodec<?> codec = this.codecs.get(type);
+		if (codec == null) {
+			codec = this.createCodec(type);
+			JsonCodec<?> previous = this.codecs.putIfAbsent(type, codec);
+			if (previous != null) {
+				codec = previous;
+			}
+		}
+		return codec;
+	}
+	
+	//region Writing
+	
+	/**
+	 * Writes the given value into the generator using the codec of its class
+	 * @param generator The generator to write to
+	 * @param value The value to write, null is written as json null
+	 * @throws NullPointerException If the generator is null
+	 * @throws JsonException If the class of the value can not be mapped
+	 */
+	public void write(JsonGenerator generator, Object value) {
+		Objects.requireNonNull(generator, "Generator must not be null");
+		this.writeValue(generator, value == null ? Object.class : value.getClass(), value);
+	}
+	
+	/**
+	 * Writes the given value into the generator using the codec of the given type
+	 * @param generator The generator to write to
+	 * @param value The value to write, null is written as json null
+	 * @param type The generic type of the value
+	 * @throws NullPointerException If the generator or the type is null
+	 * @throws JsonException If the type can not be mapped
+	 */
+	public void write(JsonGenerator generator, Object value, Type type) {
+		Objects.requireNonNull(generator, "Generator must not be null");
+		Objects.requireNonNull(type, "Type must not be null");
+		this.writeValue(generator, type, value);
+	}
+	
+	/**
+	 * Writes the given value into the writer, the writer is not closed
+	 * @param writer The writer to write to
+	 * @param value The value to write, null is written as json null
+	 * @param config The config to use
+	 * @throws NullPointerException If the writer or the config is null
+	 * @throws JsonException If the class of the value can not be mapped
+	 */
+	public void write(Writer writer, Object value, JsonConfig config) {
+		this.write(new JsonGenerator(writer, config), value);
+	}
+	
+	/**
+	 * Converts the given value to a json string
+	 * @param value The value to convert, null is converted to json null
+	 * @param config The config to use
+	 * @return The json string
+	 * @throws NullPointerException If the config is null
+	 * @throws JsonException If the class of the value can not be mapped
+	 */
+	public @NotNull String toJson(Object value, JsonConfig config) {
+		StringWriter writer = new StringWriter();
+		this.write(writer, value, config);
+		return writer.toString();
+	}
+	//endregion
+	
+	//region Reading
+	
+	/**
+	 * Reads a value of the given type which starts at the current event of the reader.<br>
+	 * If the reader was not started yet, the first event is read first.<br>
+	 * After reading the current event is the last event of the value
+	 * @param reader The reader to read from
+	 * @param type The type of the value
+	 * @return The read value or null if the value is json null
+	 * @param <T> The type of the value
+	 * @throws NullPointerException If the reader or the type is null
+	 * @throws JsonException If the type can not be mapped or the json does not match the type
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T read(JsonEventReader reader, Class<T> type) {
+		return (T) this.read(reader, (Type) type);
+	}
+	
+	/**
+	 * Reads a value of the given generic type which starts at the current event of the reader.<br>
+	 * If the reader was not started yet, the first event is read first.<br>
+	 * After reading the current event is the last event of the value
+	 * @param reader The reader to read from
+	 * @param type The generic type of the value
+	 * @return The read value or null if the value is json null
+	 * @throws NullPointerException If the reader or the type is null
+	 * @throws JsonException If the type can not be mapped or the json does not match the type
+	 */
+	public Object read(JsonEventReader reader, Type type) {
+		Objects.requireNonNull(reader, "Reader must not be null");
+		Objects.requireNonNull(type, "Type must not be null");
+		if (reader.getEvent() == null) {
+			reader.next();
+		}
+		return this.readValue(reader, type);
+	}
+	
+	/**
+	 * Reads a value of the given type from the reader, the reader must contain exactly one json value
+	 * @param reader The reader to read from
+	 * @param type The type of the value
+	 * @return The read value or null if the value is json null
+	 * @param <T> The type of the value
+	 * @throws NullPointerException If the reader or the type is null
+	 * @throws JsonException If the type can not be mapped or the json does not match the type
+	 */
+	public <T> T read(Reader reader, Class<T> type) {
+		try (JsonEventReader events = new JsonEventReader(reader)) {
+			T value = this.read(events, type);
+			if (events.next() != JsonEvent.END_DOCUMENT) {
+				throw new JsonException("Expected end of json input but found " + events.getEvent());
+			}
+			return value;
+		}
+	}
+	
+	/**
+	 * Reads a value of the given type from the json string, the string must contain exactly one json value
+	 * @param json The json string to read
+	 * @param type The type of the value
+	 * @return The read value or null if the value is json null
+	 * @param <T> The type of the value
+	 * @throws NullPointerException If the json string or the type is null
+	 * @throws JsonException If the type can not be mapped or the json does not match the type
+	 */
+	public <T> T fromJson(String json, Class<T> type) {
+		return this.read(new StringReader(Objects.requireNonNull(json, "Json must not be null")), type);
+	}
+	//endregion
+	
+	//region Helper methods
+	@SuppressWarnings("unchecked")
+	void writeValue(JsonGenerator generator, Type type, Object value) {
+		if (value == null) {
+			generator.nullValue();
+		} else {
+			((JsonCodec<Object>) this.getCodec(type)).write(generator, value);
+		}
+	}
+	
+	Object readValue(JsonEventReader reader, Type type) {
+		if (reader.getEvent() == JsonEvent.VALUE_NULL) {
+			if (type instanceof Class<?> clazz && clazz.isPrimitive()) {
+				throw new JsonException("Json null can not be mapped to the primitive type " + clazz.getName());
+			}
+			return null;
+		}
+		return this.getCodec(type).read(reader);
+	}
+	
+	private @NotNull JsonCodec<?> createCodec(Type type) {
+		if (type instanceof Class<?> clazz) {
+			if (clazz.isEnum()) {
+				return JsonCodecs.forEnum(clazz);
+			} else if (clazz.isArray()) {
+				return JsonCodecs.forArray(this, clazz.getComponentType());
+			} else if (Json.class.isAssignableFrom(clazz)) {
+				return JsonCodecs.forJson(clazz);
+			} else if (Collection.class.isAssignableFrom(clazz)) {
+				return JsonCodecs.forCollection(this, clazz, Object.class);
+			} else if (Map.class.isAssignableFrom(clazz)) {
+				return JsonCodecs.forMap(this, clazz, String.class, Object.class);
+			}
+			return JsonObjectCodec.create(this, clazz);
+		} else if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw) {
+			Type[] arguments = parameterized.getActualTypeArguments();
+			if (Collection.class.isAssignableFrom(raw)) {
+				return JsonCodecs.forCollection(this, raw, arguments[0]);
+			} else if (Map.class.isAssignableFrom(raw)) {
+				return JsonCodecs.forMap(this, raw, arguments[0], arguments[1]);
+			}
+			return this.getCodec(raw);
+		} else if (type instanceof GenericArrayType array) {
+			return JsonCodecs.forArray(this, array.getGenericComponentType());
+		} else if (type instanceof WildcardType wildcard) {
+			return this.getCodec(wildcard.getUpperBounds()[0]);
+		} else if (type instanceof TypeVariable<?> variable) {
+			return this.getCodec(variable.getBounds()[0]);
+		}
+		throw new JsonException("Type " + type.getTypeName() + " can not be mapped to json");
+	}
+	//endregion
+}
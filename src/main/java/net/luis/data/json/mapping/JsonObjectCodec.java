@@ -0,0 +1,250 @@
+package net.luis.data.json.mapping;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.luis.data.json.exception.JsonException;
+import net.luis.data.json.io.JsonEvent;
+import net.luis.data.json.io.JsonEventReader;
+import net.luis.data.json.io.JsonGenerator;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A codec which maps records and classes with a no-argument constructor to json objects.<br>
+ * The components of a record are read through their accessors and passed to the canonical constructor,
+ * the non-static and non-transient fields of a class are read and written directly.<br>
+ * All members are resolved once into {@link MethodHandle method handles} when the codec is created,
+ * the codecs of the members are resolved the first time a member is used, so types can refer to themselves
+ *
+ * @author Luis-St
+ */
+
+@ApiStatus.Internal
+final class JsonObjectCodec<T> implements JsonCodec<T> {
+	
+	private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+	
+	private final Class<T> type;
+	private final Property[] properties;
+	private final Map<String, Property> names;
+	private final MethodHandle constructor;
+	private final Object[] defaults;
+	
+	private JsonObjectCodec(Class<T> type, Property[] properties, MethodHandle constructor, Object[] defaults) {
+		this.type = type;
+		this.properties = properties;
+		this.names = Maps.newHashMapWithExpectedSize(properties.length);
+		for (Property property : properties) {
+			this.names.put(property.name, property);
+		}
+		this.constructor = constructor;
+		this.defaults = defaults;
+	}
+	
+	/**
+	 * Creates a codec for the given record or class
+	 * @param mapper The mapper which provides the codecs of the members
+	 * @param type The type of the values
+	 * @return The codec
+	 * @param <T> The type of the values
+	 * @throws JsonException If the type is not a record and has no accessible no-argument constructor or contains final fields
+	 */
+	static <T> @NotNull JsonObjectCodec<T> create(JsonMapper mapper, Class<T> type) {
+		if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			throw new JsonException("Type " + type.getName() + " can not be mapped to json");
+		}
+		MethodHandles.Lookup lookup = lookup(type);
+		try {
+			if (type.isRecord()) {
+				RecordComponent[] components = type.getRecordComponents();
+				Property[] properties = new Property[components.length];
+				Class<?>[] parameters = new Class<?>[components.length];
+				Object[] defaults = new Object[components.length];
+				for (int i = 0; i < components.length; i++) {
+					RecordComponent component = components[i];
+					MethodHandle getter = lookup.unreflect(component.getAccessor()).asType(GETTER);
+					properties[i] = new Property(mapper, component.getName(), component.getGenericType(), i, getter, null);
+					parameters[i] = component.getType();
+					defaults[i] = component.getType().isPrimitive() ? Array.get(Array.newInstance(component.getType(), 1), 0) : null;
+				}
+				MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameters));
+				constructor = constructor.asSpreader(Object[].class, parameters.length).asType(MethodType.methodType(Object.class, Object[].class));
+				return new JsonObjectCodec<>(type, properties, constructor, defaults);
+			}
+			List<Property> properties = Lists.newArrayList();
+			for (Class<?> current : hierarchy(type)) {
+				for (Field field : current.getDeclaredFields()) {
+					int modifiers = field.getModifiers();
+					if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+						continue;
+					}
+					if (Modifier.isFinal(modifiers)) {
+						throw new JsonException("Field " + field.getName() + " of " + type.getName() + " is final and can not be mapped from json");
+					}
+					MethodHandles.Lookup fieldLookup = current == type ? lookup : lookup(current);
+					MethodHandle getter = fieldLookup.unreflectGetter(field).asType(GETTER);
+					MethodHandle setter = fieldLookup.unreflectSetter(field).asType(SETTER);
+					properties.add(new Property(mapper, field.getName(), field.getGenericType(), properties.size(), getter, setter));
+				}
+			}
+			MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+			return new JsonObjectCodec<>(type, properties.toArray(Property[]::new), constructor, null);
+		} catch (NoSuchMethodException e) {
+			throw new JsonException("Type " + type.getName() + " has no " + (type.isRecord() ? "canonical" : "no-argument") + " constructor", e);
+		} catch (IllegalAccessException e) {
+			throw new JsonException("Members of type " + type.getName() + " are not accessible", e);
+		}
+	}
+	
+	/**
+	 * Creates a supplier which invokes the no-argument constructor of the given type
+	 * @param type The type to create
+	 * @return The supplier of new instances
+	 * @throws JsonException If the type has no accessible no-argument constructor
+	 */
+	static @NotNull Supplier<Object> constructor(Class<?> type) {
+		MethodHandle constructor;
+		try {
+			constructor = lookup(type).findConstructor(type, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new JsonException("Type " + type.getName() + " has no accessible no-argument constructor", e);
+		}
+		return () -> {
+			try {
+				return (Object) constructor.invokeExact();
+			} catch (Throwable e) {
+				throw rethrow("Failed to create an instance of " + type.getName(), e);
+			}
+		};
+	}
+	
+	@Override
+	public void write(JsonGenerator generator, T value) {
+		generator.beginObject();
+		for (Property property : this.properties) {
+			Object element;
+			try {
+				element = (Object) property.getter.invokeExact((Object) value);
+			} catch (Throwable e) {
+				throw rethrow("Failed to get " + property.name + " of " + this.type.getName(), e);
+			}
+			generator.name(property.name);
+			property.write(generator, element);
+		}
+		generator.endObject();
+	}
+	
+	@Override
+	public T read(JsonEventReader reader) {
+		JsonCodecs.expect(reader, JsonEvent.START_OBJECT);
+		Object[] values = this.defaults == null ? null : this.defaults.clone();
+		Object instance = null;
+		try {
+			if (values == null) {
+				instance = (Object) this.constructor.invokeExact();
+			}
+			while (reader.next() != JsonEvent.END_OBJECT) {
+				Property property = this.names.get(reader.getAsString());
+				reader.next();
+				if (property == null) {
+					reader.skipChildren();
+				} else if (values != null) {
+					values[property.index] = property.read(reader);
+				} else {
+					property.setter.invokeExact(instance, property.read(reader));
+				}
+			}
+			if (values != null) {
+				instance = (Object) this.constructor.invokeExact(values);
+			}
+		} catch (Throwable e) {
+			throw rethrow("Failed to create an instance of " + this.type.getName(), e);
+		}
+		return this.type.cast(instance);
+	}
+	
+	//region Helper methods
+	private static @NotNull MethodHandles.Lookup lookup(Class<?> type) {
+		try {
+			return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+		} catch (IllegalAccessException e) {
+			throw new JsonException("Type " + type.getName() + " is not accessible, its package must be opened for reflection", e);
+		}
+	}
+	
+	private static @NotNull List<Class<?>> hierarchy(Class<?> type) {
+		List<Class<?>> hierarchy = Lists.newArrayList();
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			hierarchy.add(0, current);
+		}
+		return hierarchy;
+	}
+	
+	private static @NotNull RuntimeException rethrow(String message, Throwable throwable) {
+		if (throwable instanceof RuntimeException exception) {
+			return exception;
+		} else if (throwable instanceof Error error) {
+			throw error;
+		}
+		return new JsonException(message, throwable);
+	}
+	//endregion
+	
+	//region Property
+	private static final class Property {
+		
+		private final JsonMapper mapper;
+		private final String name;
+		private final Type type;
+		private final boolean primitive;
+		private final int index;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+		private JsonCodec<Object> codec;
+		
+		private Property(JsonMapper mapper, String name, Type type, int index, MethodHandle getter, MethodHandle setter) {
+			this.mapper = mapper;
+			this.name = name;
+			this.type = type;
+			this.primitive = type instanceof Class<?> clazz && clazz.isPrimitive();
+			this.index = index;
+			this.getter = getter;
+			this.setter = setter;
+		}
+		
+		private void write(JsonGenerator generator, Object value) {
+			if (value == null) {
+				generator.nullValue();
+			} else {
+				this.codec().write(generator, value);
+			}
+		}
+		
+		private Object read(JsonEventReader reader) {
+			if (reader.getEvent() != JsonEvent.VALUE_NULL) {
+				return this.codec().read(reader);
+			} else if (this.primitive) {
+				throw new JsonException("Json null can not be mapped to the primitive member " + this.name);
+			}
+			return null;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private @NotNull JsonCodec<Object> codec() {
+			if (this.codec == null) {
+				this.codec = (JsonCodec<Object>) this.mapper.getCodec(this.type);
+			}
+			return this.codec;
+		}
+	}
+	//endregion
+}
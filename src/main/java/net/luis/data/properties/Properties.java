@@ -1,39 +1,47 @@
 package net.luis.data.properties;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.luis.data.internal.io.Writable;
 import net.luis.data.properties.io.PropertyWriter;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 /**
- * A collection of {@link Property} objects
+ * A collection of {@link Property} objects.<br>
+ * The properties are indexed by their lowercased key in insertion order,
+ * the objects of {@link ObjectProperty object properties} are additionally indexed in a tree over the segments of their path,
+ * so {@link #getFor(String)} only visits the properties which are part of the result
  *
  * @author Luis-St
  */
 
 public class Properties implements Iterable<Property>, Writable<PropertyWriter> {
 	
-	private final List<Property> properties;
+	private final Map<String, Property> properties = Maps.newLinkedHashMap();
+	private final PathNode objects = new PathNode();
+	private long order;
 	
 	/**
 	 * Constructs a new {@link Properties properties} collection
 	 */
 	public Properties() {
-		this.properties = Lists.newArrayList();
+		super();
 	}
 	
 	/**
 	 * Constructs a new {@link Properties properties} collection with the given {@link Property properties}
 	 * @param properties The properties to add
+	 * @throws NullPointerException If one of the given properties is null
+	 * @throws IllegalArgumentException If two of the given properties have the same key
 	 */
 	public Properties(Property... properties) {
-		this.properties = Arrays.asList(properties);
+		for (Property property : properties) {
+			this.add(property);
+		}
 	}
 	
 	/**
@@ -43,43 +51,53 @@ public class Properties implements Iterable<Property>, Writable<PropertyWriter>
 		return this.properties.isEmpty();
 	}
 	
+	/**
+	 * @return A copy of the properties collection which contains copies of the properties
+	 */
+	public @NotNull Properties copy() {
+		Properties copy = new Properties();
+		this.properties.values().forEach(property -> copy.add(property.copy()));
+		return copy;
+	}
+	
 	/**
 	 * Checks if the properties collection contains the given {@link Property}
 	 * @param property The property to check
 	 * @return True if the properties collection contains the given property
 	 */
 	public boolean contains(Property property) {
-		return this.properties.contains(property);
+		return property != null && property.equals(this.properties.get(property.getKey()));
 	}
 	
 	/**
 	 * Checks if the properties collection contains a property with the given key
-	 * @param key The key to check
+	 * @param key The key to check, the case of the key is ignored
 	 * @return True if the properties collection contains a property with the given key
 	 */
 	public boolean containsKey(String key) {
-		return this.properties.stream().anyMatch(property -> property.getKey().equals(key));
+		return key != null && this.properties.containsKey(key.toLowerCase());
 	}
 	
 	/**
 	 * @return The properties collection as an unmodifiable list
 	 */
 	public List<Property> getProperties() {
-		return List.copyOf(this.properties);
+		return List.copyOf(this.properties.values());
 	}
 	
 	/**
 	 * Gets the property with the given key
-	 * @param key The key to get the property for
+	 * @param key The key to get the property for, the case of the key is ignored
 	 * @return The property with the given key or null if no property with the given key exists
 	 */
 	public Property get(String key) {
-		return this.properties.stream().filter(property -> property.getKey().equals(key)).findFirst().orElse(null);
+		return key == null ? null : this.properties.get(key.toLowerCase());
 	}
 	
 	/**
 	 * Gets the properties from the given object as a {@link Properties properties} collection.
-	 * The object can be a single object or a path to an object separated by dots:
+	 * The object can be a single object or a path to an object separated by dots, the object is matched against whole segments of the
+	 * {@link ObjectProperty#getPath() path} of the properties:
 	 * <ul>
 	 *     <li>foo - Gets all properties which contains 'foo' in their {@link ObjectProperty#getPath() path} e.g.:<br>
 	 *     <ul>
@@ -106,45 +124,63 @@ public class Properties implements Iterable<Property>, Writable<PropertyWriter>
 	 * </ul>
 	 * @param object The object to get the properties for
 	 * @return The properties from the given object as a {@link Properties properties} collection
+	 * @throws NullPointerException If the object is null
+	 * @throws IllegalArgumentException If the object is empty or refers to a value and not to an object
 	 */
 	public Properties getFor(String object) {
 		String lowerObject = Objects.requireNonNull(object, "Object must not be null").toLowerCase();
-		Properties properties = new Properties();
-		for (ObjectProperty property : this.properties.stream().filter(Property::isObject).map(Property::getAsObject).toList()) {
-			String key = property.getKey();
-			if (!key.contains(lowerObject)) {
-				continue;
+		//region Validation
+		if (lowerObject.isEmpty()) {
+			throw new IllegalArgumentException("Object must not be empty");
+		}
+		Property value = this.properties.get(lowerObject);
+		if (value != null && value.isObject()) {
+			throw new IllegalArgumentException("Object '" + object + "' refers to a value and not to an object");
+		}
+		//endregion
+		boolean subObject = lowerObject.charAt(0) == '.';
+		boolean segmentEnd = lowerObject.length() > 1 && lowerObject.charAt(lowerObject.length() - 1) == '.';
+		String[] segments = lowerObject.substring(subObject ? 1 : 0, lowerObject.length() - (segmentEnd ? 1 : 0)).split("\\.", -1);
+		PathNode node = this.objects;
+		for (String segment : segments) {
+			node = node.children.get(segment);
+			if (node == null) {
+				return new Properties();
 			}
-			if (key.equals(lowerObject)) {
-				throw new IllegalArgumentException("Object '" + object + "' refers to a value and not to an object");
+		}
+		List<PathEntry> entries = Lists.newArrayList();
+		Deque<PathNode> nodes = new ArrayDeque<>();
+		nodes.add(node);
+		while (!nodes.isEmpty()) {
+			PathNode current = nodes.pop();
+			for (PathEntry entry : current.entries) {
+				if (!subObject || entry.start() > 0) {
+					entries.add(entry);
+				}
 			}
-			if ((property.getPath() + ".").contains(lowerObject)) {
-				properties.add(property.getInnerFrom(this.normalizeObject(object)));
+			nodes.addAll(current.children.values());
+		}
+		entries.sort(Comparator.comparingLong(PathEntry::order).thenComparingInt(PathEntry::start));
+		Properties properties = new Properties();
+		long last = -1;
+		for (PathEntry entry : entries) {
+			if (entry.order() != last) {
+				properties.add(getInner(entry.property(), entry.start() + segments.length));
+				last = entry.order();
 			}
 		}
 		return properties;
 	}
 	
-	private @NotNull String normalizeObject(String object) {
-		Objects.requireNonNull(object, "Object must not be null");
-		char first = object.charAt(0);
-		char last = object.charAt(object.length() - 1);
-		if (first == '.' && last == '.') {
-			return object.substring(1, object.length() - 1);
-		} else if (first == '.') {
-			return object.substring(1);
-		} else if (last == '.') {
-			return object.substring(0, object.length() - 1);
-		}
-		return object;
-	}
-	
 	/**
 	 * Removes the property with the given key
-	 * @param key The key to remove the property for
+	 * @param key The key to remove the property for, the case of the key is ignored
 	 */
 	public void remove(String key) {
-		this.properties.removeIf(property -> property.getKey().equals(key));
+		Property property = this.get(key);
+		if (property != null) {
+			this.remove(property);
+		}
 	}
 	
 	/**
@@ -152,7 +188,15 @@ public class Properties implements Iterable<Property>, Writable<PropertyWriter>
 	 * @param property The property to remove
 	 */
 	public void remove(Property property) {
-		this.properties.remove(property);
+		if (this.contains(property)) {
+			Property removed = this.properties.remove(property.getKey());
+			if (removed.isObject()) {
+				List<String> segments = getSegments(removed.getAsObject());
+				for (int i = 0; i < segments.size(); i++) {
+					this.objects.remove(segments, i, i, removed);
+				}
+			}
+		}
 	}
 	
 	/**
@@ -163,15 +207,28 @@ public class Properties implements Iterable<Property>, Writable<PropertyWriter>
 	 */
 	public void add(Property property) {
 		Objects.requireNonNull(property, "Property must not be null");
-		if (this.containsKey(property.getKey())) {
-			throw new IllegalArgumentException("Property with key " + property.getKey() + " already exists");
+		String key = property.getKey();
+		if (this.properties.containsKey(key)) {
+			throw new IllegalArgumentException("Property with key " + key + " already exists");
+		}
+		this.properties.put(key, property);
+		if (property.isObject()) {
+			ObjectProperty objectProperty = property.getAsObject();
+			List<String> segments = getSegments(objectProperty);
+			long order = this.order++;
+			for (int i = 0; i < segments.size(); i++) {
+				PathNode node = this.objects;
+				for (int j = i; j < segments.size(); j++) {
+					node = node.children.computeIfAbsent(segments.get(j), segment -> new PathNode());
+				}
+				node.entries.add(new PathEntry(objectProperty, i, order));
+			}
 		}
-		this.properties.add(property);
 	}
 	
 	@Override
 	public @NotNull Iterator<Property> iterator() {
-		return this.properties.iterator();
+		return Iterators.unmodifiableIterator(this.properties.values().iterator());
 	}
 	
 	@Override
@@ -184,6 +241,49 @@ public class Properties implements Iterable<Property>, Writable<PropertyWriter>
 	@Override
 	public void write(PropertyWriter writer) {
 		Objects.requireNonNull(writer, "Writer must not be null");
-		this.properties.forEach(writer::write);
+		this.properties.values().forEach(writer::write);
+	}
+	
+	//region Helper methods
+	private static @NotNull List<String> getSegments(ObjectProperty property) {
+		List<String> segments = Lists.newArrayList();
+		Property current = property;
+		while (current.isObject()) {
+			ObjectProperty object = current.getAsObject();
+			segments.add(object.getObject().toLowerCase());
+			current = object.getInner();
+		}
+		return segments;
+	}
+	
+	private static @NotNull Property getInner(ObjectProperty property, int depth) {
+		Property inner = property;
+		for (int i = 0; i < depth; i++) {
+			inner = inner.getAsObject().getInner();
+		}
+		return inner;
+	}
+	//endregion
+	
+	//region Path tree
+	private record PathEntry(ObjectProperty property, int start, long order) {}
+	
+	private static final class PathNode {
+		
+		private final Map<String, PathNode> children = Maps.newHashMap();
+		private final List<PathEntry> entries = Lists.newArrayListWithCapacity(1);
+		
+		private boolean remove(List<String> segments, int start, int index, Property property) {
+			if (index == segments.size()) {
+				this.entries.removeIf(entry -> entry.start() == start && entry.property() == property);
+			} else {
+				PathNode child = this.children.get(segments.get(index));
+				if (child != null && child.remove(segments, start, index + 1, property)) {
+					this.children.remove(segments.get(index));
+				}
+			}
+			return this.entries.isEmpty() && this.children.isEmpty();
+		}
 	}
+	//endregion
 }
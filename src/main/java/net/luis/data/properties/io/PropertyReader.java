@@ -1,6 +1,10 @@
 package net.luis.data.properties.io;
 
-import net.luis.data.internal.io.AbstractReader;
+import net.luis.data.cryption.CryptionEngine;
+import net.luis.data.internal.io.FileHelper;
+import net.luis.data.internal.io.MappedInput;
+import net.luis.data.internal.io.Reader;
+import net.luis.data.internal.util.DataScanner;
 import net.luis.data.json.JsonObject;
 import net.luis.data.json.io.JsonReader;
 import net.luis.data.properties.*;
@@ -9,81 +13,142 @@ import net.luis.data.properties.exception.PropertySyntaxException;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
- * A reader for property files which converts them into {@link Property} objects
+ * A reader for property files which converts them into {@link Property} objects.<br>
+ * The input is read one line at a time, each line is validated and parsed when it is reached,
+ * so the memory used by the reader does not depend on the size of the input.<br>
+ * Lines can be terminated by {@code \n}, {@code \r\n} or {@code \r}.<br>
+ * A property file is opened when the first line is read and closed when the last line was read
  *
  * @see Property
- * @see AbstractReader
+ * @see Reader
  *
  * @author Luis-St
  */
 
-public class PropertyReader extends AbstractReader<Property> {
+public class PropertyReader implements Reader<Property> {
 	
+	private final File file;
+	private final CryptionEngine engine;
+	private final CharBuffer buffer;
+	private final int start;
 	private final char delimiter;
+	private final StringBuilder line = new StringBuilder();
+	private BufferedReader reader;
+	private String next;
+	private int lineNumber;
+	private boolean finished;
 	
 	/**
 	 * Constructs a new {@link PropertyReader} with the given property file and the given delimiter
 	 * @param file The property file to read
 	 * @param delimiter The delimiter to use
+	 * @throws NullPointerException If the file is null
 	 */
 	public PropertyReader(File file, char delimiter) {
-		super(file);
+		this(file, delimiter, null);
+	}
+	
+	/**
+	 * Constructs a new {@link PropertyReader} with the given property file which was encrypted with the given engine.<br>
+	 * The file is decrypted chunk by chunk while it is read
+	 * @param file The encrypted property file to read
+	 * @param delimiter The delimiter to use
+	 * @param engine The engine to decrypt the file with or null if the file is not encrypted
+	 * @throws NullPointerException If the file is null
+	 */
+	public PropertyReader(File file, char delimiter, CryptionEngine engine) {
+		this.file = Objects.requireNonNull(file, "File must not be null");
+		this.engine = engine;
+		this.buffer = null;
+		this.start = 0;
 		this.delimiter = delimiter;
+		this.reader = null;
 	}
 	
 	/**
 	 * Constructs a new {@link PropertyReader} with the given property string and the given delimiter
 	 * @param value The property string to read
 	 * @param delimiter The delimiter to use
+	 * @throws NullPointerException If the value is null
 	 */
 	public PropertyReader(String value, char delimiter) {
-		super(value);
+		this(CharBuffer.wrap(Objects.requireNonNull(value, "Value must not be null")), delimiter);
+	}
+	
+	/**
+	 * Constructs a new {@link PropertyReader} which reads the characters of the given mapped file without copying them
+	 * @param input The mapped property file to read
+	 * @param delimiter The delimiter to use
+	 * @throws NullPointerException If the input is null
+	 */
+	public PropertyReader(MappedInput input, char delimiter) {
+		this(CharBuffer.wrap(Objects.requireNonNull(input, "Input must not be null").chars()), delimiter);
+	}
+	
+	/**
+	 * Constructs a new {@link PropertyReader} which reads from the remaining characters of the given buffer.<br>
+	 * The position of the buffer is advanced while reading, a {@link #reset() reset} restores the initial position
+	 * @param buffer The buffer to read
+	 * @param delimiter The delimiter to use
+	 * @throws NullPointerException If the buffer is null
+	 */
+	public PropertyReader(CharBuffer buffer, char delimiter) {
+		this.file = null;
+		this.engine = null;
+		this.buffer = Objects.requireNonNull(buffer, "Buffer must not be null");
+		this.start = buffer.position();
 		this.delimiter = delimiter;
+		this.reader = null;
 	}
 	
-	@Override
-	protected void validate(String value) {
-		//region Validation
-		super.validate(value);
-		for (String line : value.split(System.lineSeparator())) {
-			if (line.isBlank() || line.startsWith("#")) {
-				continue;
-			}
-			if (!line.contains(String.valueOf(this.delimiter))) {
-				throw new PropertySyntaxException("Invalid property line, no delimiter (" + this.delimiter + ") found: '" + line + "'");
-			}
-			if (line.substring(0, line.indexOf(this.delimiter)).isBlank()) {
-				throw new PropertySyntaxException("Invalid property line, no key found: '" + line + "'");
-			}
-		}
-		//endregion
+	/**
+	 * Constructs a new {@link PropertyReader} which reads from the given reader.<br>
+	 * The reader is closed when the property reader is closed, a reader created this way can not be {@link #reset() reset}
+	 * @param reader The reader to read
+	 * @param delimiter The delimiter to use
+	 * @throws NullPointerException If the reader is null
+	 */
+	public PropertyReader(BufferedReader reader, char delimiter) {
+		this.file = null;
+		this.engine = null;
+		this.buffer = null;
+		this.start = 0;
+		this.delimiter = delimiter;
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
 	}
 	
 	@Override
-	protected String modify(String original) {
-		Objects.requireNonNull(original, "Original must not be null");
-		return String.join(System.lineSeparator(), Arrays.stream(original.split(System.lineSeparator())).filter(line -> !line.isBlank() && !line.startsWith("#")).toArray(String[]::new));
+	public boolean hasNext() {
+		return this.advance();
 	}
 	
+	/**
+	 * Reads the next property
+	 * @return The next property
+	 * @throws PropertyReaderIndexOutOfBoundsException If there are no more properties
+	 * @throws PropertySyntaxException If the next line is not a valid property line
+	 */
 	@Override
 	public Property next() {
 		//region Validation
-		if (!this.hasNext()) {
+		if (!this.advance()) {
 			throw new PropertyReaderIndexOutOfBoundsException("Property reader is at the end of the file");
 		}
 		//endregion
-		String line = this.fromIndex(this.findNext(System.lineSeparator()).orElse(this.length()));
-		String key = line.substring(0, line.indexOf(this.delimiter)).strip();
-		String value = line.substring(line.indexOf(this.delimiter) + 1).strip();
-		this.index += line.length() + System.lineSeparator().length();
+		String line = this.next;
+		this.next = null;
+		int index = line.indexOf(this.delimiter);
+		String key = line.substring(0, index).strip();
+		String value = line.substring(index + 1).strip();
 		if (key.contains(".")) {
 			List<String> objects = Arrays.asList(key.split("\\."));
 			Property result = this.parse(objects.get(objects.size() - 1), value);
@@ -106,28 +171,59 @@ public class PropertyReader extends AbstractReader<Property> {
 	}
 	
 	//region Helper methods
-	private Optional<Integer> findNext(String value) {
-		if (value == null || value.isEmpty()) {
-			return Optional.empty();
+	private boolean advance() {
+		if (this.next != null) {
+			return true;
 		}
-		for (int i = this.index; i < this.length(); i++) {
-			if (this.value().charAt(i) == value.charAt(0)) {
-				if (value.length() == 1) {
-					return Optional.of(i);
-				}
-				boolean found = true;
-				for (int j = 0; j < value.length() && i + j < this.length(); j++) {
-					if (value.charAt(j) != this.value().charAt(i + j)) {
-						found = false;
-						break;
-					}
-				}
-				if (found) {
-					return Optional.of(i);
-				}
+		while (!this.finished) {
+			String line = this.readLine();
+			if (line == null) {
+				this.close();
+				return false;
+			}
+			this.lineNumber++;
+			if (line.isBlank() || line.startsWith("#")) {
+				continue;
+			}
+			//region Validation
+			int index = line.indexOf(this.delimiter);
+			if (index == -1) {
+				throw new PropertySyntaxException("Invalid property line " + this.lineNumber + ", no delimiter (" + this.delimiter + ") found: '" + line + "'");
+			}
+			if (line.substring(0, index).isBlank()) {
+				throw new PropertySyntaxException("Invalid property line " + this.lineNumber + ", no key found: '" + line + "'");
+			}
+			//endregion
+			this.next = line;
+			return true;
+		}
+		return false;
+	}
+	
+	private String readLine() {
+		if (this.buffer == null) {
+			if (this.reader == null) {
+				this.reader = FileHelper.newReader(this.file, this.engine);
+			}
+			try {
+				return this.reader.readLine();
+			} catch (IOException e) {
+				throw new RuntimeException("Failed to read properties", e);
 			}
 		}
-		return Optional.empty();
+		if (!this.buffer.hasRemaining()) {
+			return null;
+		}
+		// The buffer is scanned directly, since wrapping it in a reader would copy every character
+		this.line.setLength(0);
+		char c = 0;
+		while (this.buffer.hasRemaining() && (c = this.buffer.get()) != '\n' && c != '\r') {
+			this.line.append(c);
+		}
+		if (c == '\r' && this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') {
+			this.buffer.get();
+		}
+		return this.line.toString();
 	}
 	
 	private @NotNull Property parse(String key, String value) {
@@ -137,7 +233,7 @@ public class PropertyReader extends AbstractReader<Property> {
 		}
 		char first = value.charAt(0);
 		char last = value.charAt(value.length() - 1);
-		String inner = value.substring(1, value.length() - 1);
+		String inner = value.length() > 1 ? value.substring(1, value.length() - 1) : "";
 		if (first == '{' && last == '}') {
 			return new PropertyJson(key, (JsonObject) new JsonReader(value).toJson());
 		} else if (first == '[' && last == ']') {
@@ -145,7 +241,11 @@ public class PropertyReader extends AbstractReader<Property> {
 			if (inner.isBlank()) {
 				return array;
 			}
-			for (String part : Stream.of(inner.split(",")).map(String::strip).filter(part -> !part.isBlank()).toArray(String[]::new)) {
+			for (DataScanner.Range range : new DataScanner(inner).split(",")) {
+				String part = range.of(inner).strip();
+				if (part.isBlank()) {
+					continue;
+				}
 				if (part.equalsIgnoreCase("true") || part.equalsIgnoreCase("false")) {
 					array.add(Boolean.parseBoolean(part));
 				} else if (NumberUtils.isNumber(part)) {
@@ -157,7 +257,7 @@ public class PropertyReader extends AbstractReader<Property> {
 			return array;
 		} else if ("null".equalsIgnoreCase(value) || "\"null\"".equalsIgnoreCase(value)) {
 			return new PropertyNull(key);
-		} else if (first == '"' && last == '"') {
+		} else if (value.length() > 1 && first == '"' && last == '"') {
 			if (inner.isBlank()) {
 				return new PropertyString(key, value.substring(1, value.length() - 1));
 			} else {
@@ -171,5 +271,42 @@ public class PropertyReader extends AbstractReader<Property> {
 			return new PropertyString(key, value);
 		}
 	}
+	
+	private void closeReader() {
+		try {
+			if (this.reader != null) {
+				this.reader.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to close properties", e);
+		}
+	}
 	//endregion
+	
+	/**
+	 * Resets the reader to the beginning of the input
+	 * @throws UnsupportedOperationException If the reader was created from a {@link BufferedReader}
+	 */
+	@Override
+	public void reset() {
+		if (this.file == null && this.buffer == null) {
+			throw new UnsupportedOperationException("Property reader created from a reader can not be reset");
+		}
+		this.closeReader();
+		if (this.file != null) {
+			this.reader = null;
+		} else {
+			this.buffer.position(this.start);
+		}
+		this.next = null;
+		this.lineNumber = 0;
+		this.finished = false;
+	}
+	
+	@Override
+	public void close() {
+		this.next = null;
+		this.finished = true;
+		this.closeReader();
+	}
 }
@@ -1,7 +1,8 @@
 package net.luis.data.properties.io;
 
+import net.luis.data.cryption.CryptionEngine;
 import net.luis.data.internal.io.AbstractWriter;
-import net.luis.data.internal.util.DataUtils;
+import net.luis.data.internal.util.DataScanner;
 import net.luis.data.properties.Property;
 import net.luis.data.properties.config.PropertyConfig;
 
@@ -56,6 +57,17 @@ public class PropertyWriter extends AbstractWriter<PropertyConfig> {
 		super(file, config);
 	}
 	
+	/**
+	 * Constructs a new {@link PropertyWriter} with the given {@link PropertyConfig} which encrypts the written data with the given engine
+	 * @param file The file to write to
+	 * @param config The {@link PropertyConfig} to use
+	 * @param engine The engine to encrypt the data with
+	 * @throws IllegalArgumentException If the config allows appending to the file
+	 */
+	public PropertyWriter(File file, PropertyConfig config, CryptionEngine engine) {
+		super(file, config, Objects.requireNonNull(engine, "Engine must not be null"));
+	}
+	
 	@Override
 	protected boolean isExtensionNotAllowed(String extension) {
 		return !ALLOWED_EXTENSIONS.contains(extension);
@@ -116,9 +128,12 @@ public class PropertyWriter extends AbstractWriter<PropertyConfig> {
 		if (value.isBlank()) {
 			throw new IllegalArgumentException("Blank property values can not be written, put them into quotes");
 		}
-		int index = value.indexOf(this.config.delimiter());
-		if (index != -1) {
-			if (DataUtils.isNotEscaped(value, index)) {
+		DataScanner scanner = new DataScanner(value);
+		while (scanner.hasNext()) {
+			if (scanner.next() != this.config.delimiter()) {
+				continue;
+			}
+			if (!scanner.isEscaped()) {
 				throw new IllegalArgumentException("Property value must not contain the delimiter character '" + this.config.delimiter() + "' unless it is escaped");
 			}
 			if (!this.config.allowEscapedDelimiter()) {
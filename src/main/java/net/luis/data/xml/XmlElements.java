@@ -1,24 +1,26 @@
 package net.luis.data.xml;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.luis.data.xml.exception.XmlException;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 /**
- * XmlElements is a collection of {@link XmlElement XmlElements}
+ * XmlElements is a collection of {@link XmlElement XmlElements}.<br>
+ * The elements are indexed by their name in insertion order, so lookups by name do not scan the collection.<br>
+ * Removing an element still takes linear time, since the following elements of the collection are shifted
  *
  * @author Luis-St
  */
 
 public final class XmlElements implements Iterable<XmlElement> {
 	
-	private final List<String> elementNames = Lists.newArrayList();
 	private final List<XmlElement> elements = Lists.newArrayList();
+	private final Map<String, NamedElements> index = Maps.newLinkedHashMap();
 	
 	@ApiStatus.Internal
 	XmlElements() {
@@ -42,7 +44,7 @@ public final class XmlElements implements Iterable<XmlElement> {
 	 * @return True if the xml element collection contains an element with the given name
 	 */
 	public boolean has(String name) {
-		return this.elementNames.contains(name);
+		return this.index.containsKey(name);
 	}
 	
 	/**
@@ -51,7 +53,8 @@ public final class XmlElements implements Iterable<XmlElement> {
 	 * @return True if the xml element collection contains the given xml element
 	 */
 	public boolean has(XmlElement element) {
-		return this.elements.contains(element);
+		NamedElements elements = element == null ? null : this.index.get(element.getName());
+		return elements != null && elements.contains(element);
 	}
 	
 	//region Adders
@@ -63,8 +66,8 @@ public final class XmlElements implements Iterable<XmlElement> {
 	 */
 	public void add(XmlElement element) {
 		Objects.requireNonNull(element, "Xml element must not be null");
-		this.elementNames.add(element.getName());
 		this.elements.add(element);
+		this.index.computeIfAbsent(element.getName(), name -> new NamedElements()).elements.add(element);
 	}
 	
 	/**
@@ -82,16 +85,11 @@ public final class XmlElements implements Iterable<XmlElement> {
 	/**
 	 * Gets all xml elements with the given name
 	 * @param name The name of the xml elements
-	 * @return A list of xml elements with the given name
+	 * @return A unmodifiable view of the xml elements with the given name in insertion order
 	 */
 	public @NotNull List<XmlElement> getAll(String name) {
-		List<XmlElement> elements = Lists.newArrayList();
-		for (XmlElement element : this.elements) {
-			if (element.getName().equals(name)) {
-				elements.add(element);
-			}
-		}
-		return elements;
+		NamedElements elements = this.index.get(name);
+		return elements == null ? List.of() : elements;
 	}
 	
 	/**
@@ -101,11 +99,13 @@ public final class XmlElements implements Iterable<XmlElement> {
 	 * @throws XmlException If multiple xml elements where found for the given name
 	 */
 	public XmlElement get(String name) {
-		List<XmlElement> elements = this.getAll(name);
-		if (elements.size() > 1) {
+		NamedElements elements = this.index.get(name);
+		if (elements == null) {
+			return null;
+		} else if (elements.size() > 1) {
 			throw new XmlException("Multiple xml elements where found for name: " + name);
 		}
-		return elements.isEmpty() ? null : elements.get(0);
+		return elements.get(0);
 	}
 	
 	/**
@@ -131,18 +131,29 @@ public final class XmlElements implements Iterable<XmlElement> {
 	}
 	
 	/**
-	 * Removes the element for the given name from the xml element collection
+	 * Removes the element for the given name from the xml element collection.<br>
+	 * The element is found through the name index, its position in the collection is found by a linear scan
 	 * @param name The name of the element to remove
 	 * @return True if the element was removed successfully
 	 */
 	public boolean remove(String name) {
-		this.elementNames.remove(name);
-		return this.elements.remove(this.get(name));
+		XmlElement element = this.get(name);
+		if (element == null) {
+			return false;
+		}
+		this.index.remove(name);
+		for (int i = 0; i < this.elements.size(); i++) {
+			if (this.elements.get(i) == element) {
+				this.elements.remove(i);
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	@Override
 	public @NotNull Iterator<XmlElement> iterator() {
-		return this.elements.iterator();
+		return Iterators.unmodifiableIterator(this.elements.iterator());
 	}
 	
 	//region Object overrides
@@ -164,4 +175,21 @@ public final class XmlElements implements Iterable<XmlElement> {
 		return "XmlElements" + this.elements;
 	}
 	//endregion
+	
+	//region Named elements
+	private static final class NamedElements extends AbstractList<XmlElement> implements RandomAccess {
+		
+		private final List<XmlElement> elements = Lists.newArrayListWithCapacity(1);
+		
+		@Override
+		public XmlElement get(int index) {
+			return this.elements.get(index);
+		}
+		
+		@Override
+		public int size() {
+			return this.elements.size();
+		}
+	}
+	//endregion
 }
@@ -0,0 +1,219 @@
+package net.luis.data.xml.io;
+
+import net.luis.data.xml.XmlAttribute;
+import net.luis.data.xml.XmlElement;
+import net.luis.data.xml.config.XmlConfig;
+import net.luis.data.xml.exception.XmlException;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A generator which writes xml directly into a {@link Writer} without building intermediate strings.<br>
+ * The indentation is tracked as a counter, so the cost of writing xml is linear in the size of the output
+ *
+ * @see XmlWriter
+ * @see XmlConfig
+ *
+ * @author Luis-St
+ */
+
+public class XmlGenerator {
+	
+	private final Writer writer;
+	private final XmlConfig config;
+	private String[] names = new String[16];
+	private boolean[] children = new boolean[16];
+	private int depth;
+	private boolean startTagOpen;
+	private boolean text;
+	
+	/**
+	 * Constructs a new {@link XmlGenerator} which writes into the given writer
+	 * @param writer The writer to write to
+	 * @param config The config to use
+	 * @throws NullPointerException If the writer or the config is null
+	 */
+	public XmlGenerator(Writer writer, XmlConfig config) {
+		this.writer = Objects.requireNonNull(writer, "Writer must not be null");
+		this.config = Objects.requireNonNull(config, "Xml config must not be null");
+	}
+	
+	/**
+	 * @return The current nesting depth, 0 if no element is open
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+	
+	/**
+	 * Starts a new xml element
+	 * @param name The name of the element
+	 * @return This generator
+	 * @throws NullPointerException If the name is null
+	 * @throws XmlException If the name is invalid or the current element has a value
+	 */
+	public @NotNull XmlGenerator startElement(String name) {
+		validateName(Objects.requireNonNull(name, "Xml element name must not be null"));
+		if (this.text) {
+			throw new XmlException("Xml element '" + this.names[this.depth - 1] + "' has a value");
+		}
+		if (this.depth > 0) {
+			this.closeStartTag();
+			this.children[this.depth - 1] = true;
+			this.newLine(this.depth);
+		}
+		this.write('<');
+		this.write(name);
+		if (this.depth == this.names.length) {
+			this.names = Arrays.copyOf(this.names, this.depth * 2);
+			this.children = Arrays.copyOf(this.children, this.depth * 2);
+		}
+		this.names[this.depth] = name;
+		this.children[this.depth] = false;
+		this.depth++;
+		this.startTagOpen = true;
+		return this;
+	}
+	
+	/**
+	 * Writes an attribute of the current xml element
+	 * @param name The name of the attribute
+	 * @param value The value of the attribute
+	 * @return This generator
+	 * @throws NullPointerException If the name or the value is null
+	 * @throws XmlException If attributes are not allowed or the start tag of the current element is already closed
+	 */
+	public @NotNull XmlGenerator attribute(String name, String value) {
+		validateName(Objects.requireNonNull(name, "Xml attribute name must not be null"));
+		Objects.requireNonNull(value, "Xml attribute value must not be null");
+		if (!this.config.allowAttributes()) {
+			throw new XmlException("Xml element attributes are not allowed in this configuration");
+		}
+		if (!this.startTagOpen) {
+			throw new XmlException("Xml attribute '" + name + "' is not allowed at the current position");
+		}
+		this.write(' ');
+		this.write(name);
+		this.write("=\"");
+		this.write(StringEscapeUtils.escapeXml(value));
+		this.write('"');
+		return this;
+	}
+	
+	/**
+	 * Writes the value of the current xml element
+	 * @param value The value of the element
+	 * @return This generator
+	 * @throws NullPointerException If the value is null
+	 * @throws XmlException If the current element already has a value or elements
+	 */
+	public @NotNull XmlGenerator text(String value) {
+		Objects.requireNonNull(value, "Xml element value must not be null");
+		if (this.depth == 0 || !this.startTagOpen) {
+			throw new XmlException("Xml value is not allowed at the current position");
+		}
+		this.closeStartTag();
+		this.write(StringEscapeUtils.escapeXml(value));
+		this.text = true;
+		return this;
+	}
+	
+	/**
+	 * Ends the current xml element
+	 * @return This generator
+	 * @throws XmlException If no element is open
+	 */
+	public @NotNull XmlGenerator endElement() {
+		if (this.depth == 0) {
+			throw new XmlException("No xml element is open");
+		}
+		this.depth--;
+		if (this.startTagOpen) {
+			this.write("/>");
+			this.startTagOpen = false;
+		} else {
+			if (this.children[this.depth]) {
+				this.newLine(this.depth);
+			}
+			this.write("</");
+			this.write(this.names[this.depth]);
+			this.write('>');
+		}
+		this.names[this.depth] = null;
+		this.text = false;
+		if (this.depth == 0 && this.config.prettyPrint()) {
+			this.write('\n');
+		}
+		return this;
+	}
+	
+	/**
+	 * Writes the given {@link XmlElement} by walking its tree
+	 * @param element The element to write
+	 * @return This generator
+	 * @throws NullPointerException If the element is null
+	 * @throws XmlException If an element is not allowed at the current position
+	 */
+	public @NotNull XmlGenerator element(XmlElement element) {
+		Objects.requireNonNull(element, "Xml element must not be null");
+		this.startElement(element.getName());
+		for (XmlAttribute attribute : element.getAttributes()) {
+			this.attribute(attribute.getName(), attribute.getAsString());
+		}
+		if (element.hasValue()) {
+			this.text(element.getAsString());
+		} else {
+			for (XmlElement child : element.getElements()) {
+				this.element(child);
+			}
+		}
+		return this.endElement();
+	}
+	
+	//region Helper methods
+	private static void validateName(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c == '&' || c == '<' || c == '>' || c == '"' || c == '\'') {
+				throw new XmlException("Xml name '" + name + "' contains an invalid xml character: " + c);
+			}
+		}
+	}
+	
+	private void closeStartTag() {
+		if (this.startTagOpen) {
+			this.write('>');
+			this.startTagOpen = false;
+		}
+	}
+	
+	private void newLine(int depth) {
+		if (this.config.prettyPrint()) {
+			this.write('\n');
+			for (int i = 0; i < depth; i++) {
+				this.write(this.config.indent());
+			}
+		}
+	}
+	
+	private void write(String value) {
+		try {
+			this.writer.write(value);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write xml", e);
+		}
+	}
+	
+	private void write(char c) {
+		try {
+			this.writer.write(c);
+		} catch (Exception e) {
+			throw new RuntimeException("Failed to write xml", e);
+		}
+	}
+	//endregion
+}
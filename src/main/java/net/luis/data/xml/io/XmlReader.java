@@ -1,27 +1,34 @@
 package net.luis.data.xml.io;
 
 import com.google.common.collect.Lists;
+import net.luis.data.cryption.CryptionEngine;
+import net.luis.data.cryption.CryptionInputStream;
+import net.luis.data.internal.io.MappedInput;
 import net.luis.data.internal.io.Reader;
 import net.luis.data.xml.XmlAttribute;
 import net.luis.data.xml.XmlElement;
 import net.luis.data.xml.exception.XmlException;
 import net.luis.data.xml.exception.XmlReaderIndexOutOfBoundsException;
 import org.jetbrains.annotations.NotNull;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
 /**
- * A reader for xml files which converts them into {@link XmlElement} objects
+ * A reader for xml files which converts them into {@link XmlElement} objects.<br>
+ * The file is read as a stream of events, the children of the root element are built one at a time when they are requested,
+ * so record oriented files can be processed without keeping the whole document in memory.<br>
+ * The file is opened when the first element is read, after the last child element the rest of the file is checked,
+ * so a second root element or content after the root element is reported as an error
  *
  * @see XmlElement
  * @see Reader
@@ -31,11 +38,17 @@ import java.util.Objects;
 
 public class XmlReader implements Reader<XmlElement>, XmlSerializable {
 	
-	private final String name;
-	private final List<XmlAttribute> attributes;
-	private final int type;
-	private final List<Node> nodes;
-	private int index;
+	private static final XMLInputFactory FACTORY = createFactory();
+	
+	private final File file;
+	private final CryptionEngine engine;
+	private final MappedInput input;
+	private InputStream stream;
+	private XMLStreamReader reader;
+	private String name;
+	private List<XmlAttribute> attributes;
+	private XmlElement next;
+	private boolean finished;
 	
 	/**
 	 * Constructs a new {@link XmlReader} with the given xml file
@@ -48,139 +61,278 @@ public class XmlReader implements Reader<XmlElement>, XmlSerializable {
 	/**
 	 * Constructs a new {@link XmlReader} with the given xml file
 	 * @param file The xml file to read
+	 * @throws NullPointerException If the file is null
 	 */
 	public XmlReader(File file) {
-		try {
-			//region XPath creation
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			factory.setIgnoringComments(true);
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			Document document = builder.parse(file);
-			XPath xPath = XPathFactory.newInstance().newXPath();
-			NodeList nodes = (NodeList) xPath.compile("*").evaluate(document, XPathConstants.NODESET);
-			//endregion
-			//region Validation
-			if (nodes.getLength() == 0) {
-				throw new XmlException("The xml file is empty");
-			} else if (nodes.getLength() > 1) {
-				throw new XmlException("The xml file contains more than one root element");
-			} else if (nodes.item(0).getNodeType() != Node.ELEMENT_NODE && nodes.item(0).getNodeType() != Node.TEXT_NODE) {
-				throw new XmlException("Invalid xml node type of the root node: " + nodes.item(0).getNodeType());
-			}
-			Node node = nodes.item(0);
-			//endregion
-			this.name = node.getNodeName();
-			this.attributes = this.getXmlAttributes(node);
-			this.type = node.getNodeType();
-			List<Node> nodesList = Lists.newArrayList();
-			for (int i = 0; i < node.getChildNodes().getLength(); i++) {
-				Node childNode = node.getChildNodes().item(i);
-				if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-					nodesList.add(childNode);
-				}
-			}
-			this.nodes = List.copyOf(nodesList);
-		} catch (Exception e) {
-			throw new XmlException("Error while reading the xml file", e);
-		}
+		this(file, null);
+	}
+	
+	/**
+	 * Constructs a new {@link XmlReader} with the given xml file which was encrypted with the given engine.<br>
+	 * The file is decrypted chunk by chunk while it is read
+	 * @param file The encrypted xml file to read
+	 * @param engine The engine to decrypt the file with or null if the file is not encrypted
+	 * @throws NullPointerException If the file is null
+	 */
+	public XmlReader(File file, CryptionEngine engine) {
+		this.file = Objects.requireNonNull(file, "File must not be null");
+		this.engine = engine;
+		this.input = null;
+	}
+	
+	/**
+	 * Constructs a new {@link XmlReader} which reads the bytes of the given mapped xml file
+	 * @param input The mapped xml file to read
+	 * @throws NullPointerException If the input is null
+	 */
+	public XmlReader(MappedInput input) {
+		this.input = Objects.requireNonNull(input, "Input must not be null");
+		this.file = input.getFile();
+		this.engine = null;
 	}
 	
+	/**
+	 * @return True if the root element has another child element
+	 * @throws XmlException If the file could not be read or does not contain exactly one root element
+	 */
 	@Override
 	public boolean hasNext() {
-		if (this.type == Node.TEXT_NODE) {
-			return this.index == 0;
-		} else if (this.type == Node.ELEMENT_NODE) {
-			return !this.nodes.isEmpty() && this.index < this.nodes.size();
-		}
-		throw new XmlException("Invalid xml node type of the root node: " + this.type);
+		return this.advance();
 	}
 	
+	/**
+	 * Reads the next child element of the root element
+	 * @return The root element which only contains the next child element
+	 * @throws XmlReaderIndexOutOfBoundsException If there are no more child elements
+	 * @throws XmlException If the file could not be read or does not contain exactly one root element
+	 */
 	@Override
 	public XmlElement next() {
+		XmlElement rootElement = this.getRootElement();
+		rootElement.addElement(this.nextElement());
+		return rootElement;
+	}
+	
+	/**
+	 * Reads the next child element of the root element
+	 * @return The next child element
+	 * @throws XmlReaderIndexOutOfBoundsException If there are no more child elements
+	 * @throws XmlException If the file could not be read or does not contain exactly one root element
+	 */
+	public @NotNull XmlElement nextElement() {
 		//region Validation
-		if (!this.hasNext()) {
+		if (!this.advance()) {
 			throw new XmlReaderIndexOutOfBoundsException("Xml reader is at the end of the file");
 		}
 		//endregion
-		if (this.type == Node.TEXT_NODE) {
-			this.close();
-			return this.getRootElement();
-		} else if (this.type == Node.ELEMENT_NODE) {
-			XmlElement rootElement = this.getRootElement();
-			XmlElement element = this.getXmlElement(this.nodes.get(this.index));
-			this.getXmlAttributes(this.nodes.get(this.index)).forEach(element::addAttribute);
-			rootElement.addElement(element);
-			this.index++;
-			return rootElement;
-		}
-		throw new XmlException("Invalid xml node type of the root node: " + this.type);
+		XmlElement element = this.next;
+		this.next = null;
+		return element;
 	}
 	
+	/**
+	 * @return An iterator which reads the remaining child elements of the root element one at a time
+	 */
+	public @NotNull Iterator<XmlElement> elements() {
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return XmlReader.this.advance();
+			}
+			
+			@Override
+			public XmlElement next() {
+				return XmlReader.this.nextElement();
+			}
+		};
+	}
+	
+	/**
+	 * Reads the remaining child elements of the root element
+	 * @return The root element which contains the remaining child elements
+	 * @throws XmlException If the file could not be read or does not contain exactly one root element
+	 */
 	@Override
 	public @NotNull XmlElement toXml() {
 		XmlElement rootElement = this.getRootElement();
-		while (this.hasNext()) {
-			XmlElement element = this.next();
-			for (XmlElement childElement : element.getElements()) {
-				rootElement.addElement(childElement);
-			}
+		while (this.advance()) {
+			rootElement.addElement(this.nextElement());
 		}
 		return rootElement;
 	}
 	
 	//region Helper methods
-	private @NotNull XmlElement getRootElement() {
-		XmlElement element = new XmlElement(this.name);
-		this.attributes.forEach(element::addAttribute);
-		return element;
+	private static @NotNull XMLInputFactory createFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
 	}
 	
-	private @NotNull XmlElement getXmlElement(Node node) {
-		return this.getXmlElement(node, node.getChildNodes());
+	private void open() {
+		try {
+			if (this.input != null) {
+				this.stream = this.input.stream();
+			} else {
+				this.stream = new BufferedInputStream(new FileInputStream(this.file));
+				if (this.engine != null) {
+					this.stream = new CryptionInputStream(this.stream, this.engine);
+				}
+			}
+			this.reader = FACTORY.createXMLStreamReader(this.stream);
+			if (!this.moveToElement()) {
+				throw new XmlException("The xml file is empty");
+			}
+			this.name = this.reader.getLocalName();
+			this.attributes = this.getXmlAttributes();
+			this.next = null;
+			this.finished = false;
+		} catch (XmlException e) {
+			this.closeStream();
+			throw e;
+		} catch (Exception e) {
+			this.closeStream();
+			throw new XmlException("Error while reading the xml file", e);
+		}
+	}
+	
+	private void ensureOpen() {
+		if (this.reader == null && !this.finished) {
+			this.open();
+		}
 	}
 	
-	private @NotNull XmlElement getXmlElement(Node parentNode, NodeList childNodes) {
-		Objects.requireNonNull(childNodes, "Child nodes must not be null");
-		if (childNodes.getLength() == 0) {
-			XmlElement element = new XmlElement(parentNode.getNodeName());
-			getXmlAttributes(parentNode).forEach(element::addAttribute);
-			return element;
-		} else if (childNodes.getLength() == 1 && childNodes.item(0).getNodeType() == Node.TEXT_NODE) {
-			XmlElement element = new XmlElement(parentNode.getNodeName(), childNodes.item(0).getTextContent());
-			getXmlAttributes(childNodes.item(0)).forEach(element::addAttribute);
-			return element;
+	private boolean advance() {
+		if (this.next != null) {
+			return true;
+		} else if (this.finished) {
+			return false;
 		}
-		XmlElement element = new XmlElement(parentNode.getNodeName());
-		for (int i = 0; i < childNodes.getLength(); i++) {
-			Node node = childNodes.item(i);
-			if (node.getNodeType() == Node.ELEMENT_NODE) {
-				XmlElement childElement = getXmlElement(node, node.getChildNodes());
-				getXmlAttributes(node).forEach(childElement::addAttribute);
-				element.addElement(childElement);
+		this.ensureOpen();
+		try {
+			if (this.moveToElement()) {
+				this.next = this.getXmlElement();
+				return true;
+			}
+			this.readToEnd();
+			this.close();
+			return false;
+		} catch (XmlException e) {
+			this.close();
+			throw e;
+		} catch (XMLStreamException e) {
+			this.close();
+			throw new XmlException("Error while reading the xml file", e);
+		}
+	}
+	
+	private void readToEnd() {
+		try {
+			while (this.reader.hasNext()) {
+				int event = this.reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					throw new XmlException("The xml file contains more than one root element, found '" + this.reader.getLocalName() + "' after '" + this.name + "'");
+				} else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) && !this.reader.isWhiteSpace()) {
+					throw new XmlException("The xml file contains content after the root element '" + this.name + "'");
+				}
+			}
+		} catch (XMLStreamException e) {
+			throw new XmlException("The xml file contains invalid content after the root element '" + this.name + "'", e);
+		}
+	}
+	
+	private boolean moveToElement() throws XMLStreamException {
+		while (this.reader.hasNext()) {
+			int event = this.reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
 			}
 		}
+		return false;
+	}
+	
+	private @NotNull XmlElement getRootElement() {
+		this.ensureOpen();
+		XmlElement element = new XmlElement(this.name);
+		this.attributes.forEach(element::addAttribute);
 		return element;
 	}
 	
-	private @NotNull List<XmlAttribute> getXmlAttributes(Node node) {
-		Objects.requireNonNull(node, "Node must not be null");
-		List<XmlAttribute> xmlAttributes = Lists.newArrayList();
-		if (node.hasAttributes()) {
-			for (int i = 0; i < node.getAttributes().getLength(); i++) {
-				xmlAttributes.add(new XmlAttribute(node.getAttributes().item(i).getNodeName(), node.getAttributes().item(i).getTextContent()));
+	private @NotNull XmlElement getXmlElement() throws XMLStreamException {
+		String name = this.reader.getLocalName();
+		List<XmlAttribute> attributes = this.getXmlAttributes();
+		List<XmlElement> elements = null;
+		StringBuilder text = null;
+		int event;
+		while ((event = this.reader.next()) != XMLStreamConstants.END_ELEMENT) {
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (elements == null) {
+					elements = Lists.newArrayList();
+				}
+				elements.add(this.getXmlElement());
+			} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+				if (text == null) {
+					text = new StringBuilder();
+				}
+				text.append(this.reader.getTextCharacters(), this.reader.getTextStart(), this.reader.getTextLength());
 			}
 		}
+		XmlElement element;
+		if (elements != null) {
+			element = new XmlElement(name);
+			elements.forEach(element::addElement);
+		} else if (text != null) {
+			element = new XmlElement(name, text.toString());
+		} else {
+			element = new XmlElement(name);
+		}
+		attributes.forEach(element::addAttribute);
+		return element;
+	}
+	
+	private @NotNull List<XmlAttribute> getXmlAttributes() {
+		int count = this.reader.getAttributeCount();
+		List<XmlAttribute> xmlAttributes = Lists.newArrayListWithCapacity(count);
+		for (int i = 0; i < count; i++) {
+			xmlAttributes.add(new XmlAttribute(getQualifiedName(this.reader.getAttributePrefix(i), this.reader.getAttributeLocalName(i)), this.reader.getAttributeValue(i)));
+		}
 		return xmlAttributes;
 	}
+	
+	private static @NotNull String getQualifiedName(String prefix, String name) {
+		return prefix == null || prefix.isEmpty() ? name : prefix + ":" + name;
+	}
+	
+	private void closeStream() {
+		try {
+			if (this.reader != null) {
+				this.reader.close();
+			}
+			if (this.stream != null) {
+				this.stream.close();
+			}
+		} catch (Exception e) {
+			throw new XmlException("Error while closing the xml file", e);
+		}
+	}
 	//endregion
 	
+	/**
+	 * Resets the reader by reopening the xml file
+	 */
 	@Override
 	public void reset() {
-		this.index = 0;
+		this.closeStream();
+		this.open();
 	}
 	
 	@Override
 	public void close() {
-		this.index = this.type == Node.TEXT_NODE ? 1 : this.nodes.size();
+		this.next = null;
+		this.finished = true;
+		this.closeStream();
 	}
 }
@@ -1,11 +1,13 @@
 package net.luis.data.xml.io;
 
+import net.luis.data.cryption.CryptionEngine;
 import net.luis.data.internal.io.AbstractWriter;
 import net.luis.data.xml.XmlElement;
 import net.luis.data.xml.config.XmlConfig;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.util.Objects;
 
 /**
  * A writer for {@link XmlElement XmlElements} to write them to a file
@@ -18,6 +20,8 @@ import java.io.File;
 
 public class XmlWriter extends AbstractWriter<XmlConfig> {
 	
+	private final XmlGenerator generator = new XmlGenerator(this.writer, this.config);
+	
 	/**
 	 * Constructs a new {@link XmlWriter} with the given file using the {@link XmlConfig#DEFAULT}
 	 * @param file The file to write to as a string
@@ -52,6 +56,17 @@ public class XmlWriter extends AbstractWriter<XmlConfig> {
 		super(file, config);
 	}
 	
+	/**
+	 * Constructs a new {@link XmlWriter} with the given file and config which encrypts the written data with the given engine
+	 * @param file The file to write to
+	 * @param config The config to use
+	 * @param engine The engine to encrypt the data with
+	 * @throws IllegalArgumentException If the config allows appending to the file
+	 */
+	public XmlWriter(File file, XmlConfig config, CryptionEngine engine) {
+		super(file, config, Objects.requireNonNull(engine, "Engine must not be null"));
+	}
+	
 	@Override
 	protected boolean isExtensionNotAllowed(String extension) {
 		return extension == null || !extension.equals("xml");
@@ -70,17 +85,62 @@ public class XmlWriter extends AbstractWriter<XmlConfig> {
 		}
 	}
 	
+	//region Generator
+	
+	/**
+	 * Delegates to {@link XmlGenerator#startElement(String)}
+	 */
+	public @NotNull XmlWriter startElement(String name) {
+		this.generator.startElement(name);
+		return this;
+	}
+	
+	/**
+	 * Delegates to {@link XmlGenerator#attribute(String, String)}
+	 */
+	public @NotNull XmlWriter attribute(String name, String value) {
+		this.generator.attribute(name, value);
+		return this;
+	}
+	
+	/**
+	 * Delegates to {@link XmlGenerator#text(String)}
+	 */
+	public @NotNull XmlWriter text(String value) {
+		this.generator.text(value);
+		return this;
+	}
+	
+	/**
+	 * Delegates to {@link XmlGenerator#endElement()}
+	 */
+	public @NotNull XmlWriter endElement() {
+		this.generator.endElement();
+		return this.endRoot();
+	}
+	//endregion
+	
 	/**
 	 * Writes the given {@link XmlElement} to the file
 	 * @param element The element to write
+	 * @throws NullPointerException If the element is null
 	 * @throws RuntimeException If an error occurs while writing the element
 	 */
 	public void write(@NotNull XmlElement element) {
-		String xml = element.toString(this.config);
-		try {
-			this.writer.write(xml + System.lineSeparator());
-		} catch (Exception e) {
-			throw new RuntimeException("Failed to write xml element to file", e);
+		this.generator.element(element);
+		this.endRoot();
+	}
+	
+	//region Helper methods
+	private @NotNull XmlWriter endRoot() {
+		if (this.generator.getDepth() == 0) {
+			try {
+				this.writer.write(System.lineSeparator());
+			} catch (Exception e) {
+				throw new RuntimeException("Failed to write xml element to file", e);
+			}
 		}
+		return this;
 	}
+	//endregion
 }
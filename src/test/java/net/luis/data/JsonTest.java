@@ -1,6 +1,7 @@
 package net.luis.data;
 
 import net.luis.data.json.Json;
+import net.luis.data.json.JsonNumber;
 import net.luis.data.json.JsonObject;
 import net.luis.data.json.config.JsonConfig;
 import net.luis.data.json.io.JsonReader;
@@ -8,6 +9,7 @@ import net.luis.data.json.io.JsonWriter;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 
 public class JsonTest {
@@ -26,5 +28,17 @@ public class JsonTest {
 		JsonWriter writer = new JsonWriter(file, JsonConfig.DEFAULT);
 		writer.write((JsonObject) reader.toJson());
 		writer.flushAndClose();
+		
+		JsonNumber[] numbers = { new JsonNumber(1.2345678901234567E18), new JsonNumber(1234567890123456770L), new JsonNumber(1234567890123456768L), new JsonNumber(new BigDecimal("1234567890123456700")), new JsonNumber(new BigDecimal("1234567890123456768.000")), new JsonNumber(0.1), new JsonNumber(new BigDecimal("0.1")), new JsonNumber(-0.0), new JsonNumber(0L) };
+		boolean consistent = true;
+		for (JsonNumber number : numbers) {
+			for (JsonNumber other : numbers) {
+				if (number.equals(other) && number.hashCode() != other.hashCode()) {
+					System.out.println("Equal json numbers with different hash codes: " + number + " and " + other);
+					consistent = false;
+				}
+			}
+		}
+		System.out.println("Json number hash codes are consistent with equals: " + consistent);
 	}
 }